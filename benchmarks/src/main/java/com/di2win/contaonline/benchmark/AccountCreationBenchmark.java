@@ -0,0 +1,101 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.dto.AccountCreationDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.service.AccountService;
+import com.di2win.contaonline.util.AccountNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação de contas com a faixa de números à frente da sequência já {@code preenchimento}% ocupada
+ * por contas legadas (números do gerador aleatório antigo). Cada lote de medição cria 1.000 contas;
+ * o custo deve ficar estável, já que os números ocupados são descartados com uma consulta por bloco.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 1000)
+@Measurement(iterations = 5, batchSize = 1000)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AccountCreationBenchmark {
+
+    private static final int CONTAS_CRIADAS = 7_000;
+
+    @Param({"0", "50", "90"})
+    public int preenchimento;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private AccountCreationDTO accountCreationDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.iniciarContexto();
+        accountService = context.getBean(AccountService.class);
+        Client client = BenchmarkSupport.criarCliente(context);
+        accountCreationDTO = new AccountCreationDTO();
+        accountCreationDTO.setCpf(client.getCpf());
+        ocuparFaixa(client);
+    }
+
+    /**
+     * Insere contas legadas em {@code preenchimento}% das bases que o gerador vai percorrer para
+     * entregar todas as contas criadas no benchmark.
+     */
+    private void ocuparFaixa(Client client) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long inicio = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'CONTAS_NUMERO_SEQ'", Long.class);
+        long faixa = CONTAS_CRIADAS * 100L / (100 - preenchimento) * 2;
+        Random random = new Random(42);
+
+        List<Object[]> lote = new ArrayList<>();
+        for (long base = inicio; base < inicio + faixa; base++) {
+            if (random.nextInt(100) < preenchimento) {
+                lote.add(new Object[]{AccountNumberGenerator.formatar(base), client.getId()});
+            }
+            if (lote.size() == 10_000) {
+                inserirLegadas(jdbcTemplate, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            inserirLegadas(jdbcTemplate, lote);
+        }
+    }
+
+    private void inserirLegadas(JdbcTemplate jdbcTemplate, List<Object[]> lote) {
+        jdbcTemplate.batchUpdate("insert into contas (numero_conta, agencia, saldo, limite_diario_saque, bloqueada, cliente_id) "
+                + "values (?, '1234', 0, 1000, false, ?)", lote);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        return accountService.createAccount(accountCreationDTO);
+    }
+}
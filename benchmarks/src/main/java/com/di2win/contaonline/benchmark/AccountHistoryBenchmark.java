@@ -0,0 +1,65 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de depósito e saque em função do tamanho do histórico da conta. Com os caminhos de
+ * escrita independentes do histórico, os tempos devem ficar estáveis de 10 a 1M transações.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AccountHistoryBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int historico;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.iniciarContexto();
+        accountService = context.getBean(AccountService.class);
+        Account account = BenchmarkSupport.criarConta(context, BenchmarkSupport.criarCliente(context), new BigDecimal("1000000000000"));
+        accountId = account.getId();
+        BenchmarkSupport.inserirHistorico(context, accountId, historico);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Account deposit() {
+        return accountService.deposit(accountId, BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public Account withdraw() {
+        return accountService.withdraw(accountId, BigDecimal.ONE);
+    }
+}
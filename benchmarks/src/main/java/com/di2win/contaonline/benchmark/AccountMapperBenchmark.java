@@ -0,0 +1,58 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.util.AccountMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de uma conta (com o cliente já carregado) para {@link AccountResponseDTO}, feita em
+ * toda resposta de depósito, saque e abertura de conta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountMapperBenchmark {
+
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        Client client = new Client();
+        client.setId(1L);
+        client.setNome("Cliente Benchmark");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1980, 1, 1));
+
+        account = new Account();
+        account.setId(1L);
+        account.setAgencia("1234");
+        account.setNumeroConta("90000001");
+        account.setSaldo(new BigDecimal("1500.75"));
+        account.setLimiteDiarioSaque(new BigDecimal("1000"));
+        account.setBloqueada(false);
+        account.setCliente(client);
+    }
+
+    @Benchmark
+    public AccountResponseDTO mapToAccountResponseDTO() {
+        return AccountMapper.mapToAccountResponseDTO(account);
+    }
+}
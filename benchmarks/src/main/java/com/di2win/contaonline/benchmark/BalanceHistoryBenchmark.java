@@ -0,0 +1,77 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.service.BalanceSnapshotService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saldo em um instante passado: último saldo diário consolidado mais as transações do dia versus
+ * a soma de todo o histórico da conta até o instante. O histórico tem uma transação a cada 15
+ * minutos (96 por dia), então 1M de transações cobre cerca de 28 anos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BalanceHistoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int historico;
+
+    private ConfigurableApplicationContext context;
+    private BalanceSnapshotService balanceSnapshotService;
+    private TransactionRepository transactionRepository;
+    private Long accountId;
+    private LocalDateTime instante;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // sem o cache de resultados do H2, a mesma consulta repetida mediria só o cache
+        context = BenchmarkSupport.iniciarContexto("contaonline.snapshots.margem=0s",
+                "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0");
+        balanceSnapshotService = context.getBean(BalanceSnapshotService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        accountId = BenchmarkSupport.criarConta(context, BenchmarkSupport.criarCliente(context), BigDecimal.ZERO).getId();
+        BenchmarkSupport.inserirHistorico(context, accountId, historico, Duration.ofMinutes(15));
+        balanceSnapshotService.reconstruir();
+        // meio-dia de ontem, dentro do último dia do histórico
+        instante = LocalDate.now().minusDays(1).atTime(12, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal saldosDiarios() {
+        return balanceSnapshotService.getBalanceAt(accountId, instante);
+    }
+
+    @Benchmark
+    public BigDecimal historicoCompleto() {
+        return transactionRepository.sumNetValorByContaIdAndDataHoraBetween(
+                accountId, LocalDateTime.of(1970, 1, 1, 0, 0), instante);
+    }
+}
@@ -0,0 +1,130 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.Di2winContaOnlineApplication;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sobe a aplicação no perfil de testes (H2 em memória, sem servidor web) e prepara massa de dados
+ * para os benchmarks.
+ */
+public final class BenchmarkSupport {
+
+    private static final int TAMANHO_LOTE = 10_000;
+
+    private static final AtomicLong sequencia = new AtomicLong();
+
+    private BenchmarkSupport() {}
+
+    public static ConfigurableApplicationContext iniciarContexto(String... propriedades) {
+        return iniciar(WebApplicationType.NONE, propriedades);
+    }
+
+    /**
+     * Sobe a aplicação com o Tomcat em uma porta livre, informada por {@link #porta}.
+     */
+    public static ConfigurableApplicationContext iniciarServidor(String... propriedades) {
+        List<String> comPorta = new ArrayList<>(List.of(propriedades));
+        comPorta.add("server.port=0");
+        return iniciar(WebApplicationType.SERVLET, comPorta.toArray(String[]::new));
+    }
+
+    public static int porta(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext iniciar(WebApplicationType tipo, String... propriedades) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.profiles.active=test",
+                "--logging.level.root=WARN"));
+        for (String propriedade : propriedades) {
+            argumentos.add("--" + propriedade);
+        }
+        return new SpringApplicationBuilder(Di2winContaOnlineApplication.class)
+                .web(tipo)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    public static Client criarCliente(ConfigurableApplicationContext context) {
+        long numero = sequencia.incrementAndGet();
+        Client client = new Client();
+        client.setNome("Cliente Benchmark " + numero);
+        client.setCpf(String.format("%011d", numero));
+        client.setDataNascimento(LocalDate.of(1980, 1, 1));
+        return context.getBean(ClientRepository.class).save(client);
+    }
+
+    public static Account criarConta(ConfigurableApplicationContext context, Client client, BigDecimal saldo) {
+        Account account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta(String.format("9%07d", sequencia.incrementAndGet()));
+        account.setSaldo(saldo);
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(new BigDecimal("1000000000000"));
+        account.setCliente(client);
+        return context.getBean(AccountRepository.class).save(account);
+    }
+
+    /**
+     * CPF válido (com dígitos verificadores) a partir de uma base de até 9 dígitos.
+     */
+    public static String cpfValido(long base) {
+        StringBuilder digitos = new StringBuilder(String.format("%09d", base));
+        for (int verificador = 0; verificador < 2; verificador++) {
+            int soma = 0;
+            for (int i = 0; i < digitos.length(); i++) {
+                soma += (digitos.charAt(i) - '0') * (digitos.length() + 1 - i);
+            }
+            int digito = 11 - (soma % 11);
+            digitos.append(digito >= 10 ? 0 : digito);
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Insere {@code quantidade} depósitos antigos (anteriores ao dia corrente) direto via JDBC.
+     */
+    public static void inserirHistorico(ConfigurableApplicationContext context, Long accountId, int quantidade) {
+        inserirHistorico(context, accountId, quantidade, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Como {@link #inserirHistorico(ConfigurableApplicationContext, Long, int)}, com as transações
+     * espaçadas por {@code intervalo}; a última fica um dia antes do instante atual.
+     */
+    public static void inserirHistorico(ConfigurableApplicationContext context, Long accountId, int quantidade,
+                                        Duration intervalo) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime inicio = LocalDateTime.now().minusDays(1).minus(intervalo.multipliedBy(quantidade));
+        List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < quantidade; i++) {
+            lote.add(new Object[]{BigDecimal.ONE, inicio.plus(intervalo.multipliedBy(i)), TransactionType.DEPOSITO.name(), accountId});
+            if (lote.size() == TAMANHO_LOTE) {
+                inserirLote(jdbcTemplate, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            inserirLote(jdbcTemplate, lote);
+        }
+    }
+
+    private static void inserirLote(JdbcTemplate jdbcTemplate, List<Object[]> lote) {
+        jdbcTemplate.batchUpdate("insert into transacoes (valor, data_hora, tipo, conta_id) values (?, ?, ?, ?)", lote);
+    }
+}
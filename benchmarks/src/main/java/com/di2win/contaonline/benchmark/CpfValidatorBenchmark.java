@@ -0,0 +1,106 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.exception.cpf.InvalidCpfFormatException;
+import com.di2win.contaonline.util.CpfValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de CPF: implementação anterior (stream com distinct, getNumericValue e exceções
+ * para entradas inválidas) contra {@link CpfValidator#check(CharSequence)} e
+ * {@link CpfValidator#validate(String)}, o caminho das requisições, que lança exceção para CPF
+ * inválido. Rodar com {@code -prof gc} para comparar a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfValidatorBenchmark {
+
+    @Param({"06915290435", "069.152.904-35", "06915290436"})
+    public String cpf;
+
+    @Benchmark
+    public boolean legado() {
+        try {
+            ValidadorLegado.validate(cpf);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public CpfValidator.Resultado check() {
+        return CpfValidator.check(cpf);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        try {
+            CpfValidator.validate(cpf);
+            return true;
+        } catch (InvalidCpfFormatException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public String normalize() {
+        return CpfValidator.normalize(cpf);
+    }
+
+    /**
+     * Cópia da implementação anterior do CpfValidator, mantida apenas como referência.
+     */
+    static final class ValidadorLegado {
+
+        static void validate(String cpf) {
+            if (cpf == null || cpf.isEmpty()) {
+                throw new IllegalArgumentException("O CPF não pode ser nulo ou vazio.");
+            }
+            if (cpf.length() != 11) {
+                throw new IllegalArgumentException("O CPF deve conter 11 dígitos.");
+            }
+            if (cpf.chars().distinct().count() == 1) {
+                throw new IllegalArgumentException("O CPF não pode conter todos os dígitos iguais.");
+            }
+
+            int sum = 0;
+            for (int i = 0; i < 9; i++) {
+                sum += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+            }
+            int firstVerifier = 11 - (sum % 11);
+            if (firstVerifier >= 10) {
+                firstVerifier = 0;
+            }
+            if (firstVerifier != Character.getNumericValue(cpf.charAt(9))) {
+                throw new IllegalArgumentException("O primeiro dígito verificador do CPF é inválido.");
+            }
+
+            sum = 0;
+            for (int i = 0; i < 10; i++) {
+                sum += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+            }
+            int secondVerifier = 11 - (sum % 11);
+            if (secondVerifier >= 10) {
+                secondVerifier = 0;
+            }
+            if (secondVerifier != Character.getNumericValue(cpf.charAt(10))) {
+                throw new IllegalArgumentException("O segundo dígito verificador do CPF é inválido.");
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hashCode, inclusão em conjunto e toString de uma conta cujo cliente e histórico estão em
+ * memória, com as associações nos dois sentidos. O tempo deve ser o mesmo para qualquer tamanho de
+ * histórico: só o id entra na igualdade e as associações ficam fora do toString.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityIdentityBenchmark {
+
+    @Param({"1", "1000"})
+    public int transacoes;
+
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        Client client = new Client();
+        client.setId(1L);
+        client.setNome("Cliente Benchmark");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1980, 1, 1));
+
+        account = new Account();
+        account.setId(1L);
+        account.setAgencia("1234");
+        account.setNumeroConta("90000001");
+        account.setSaldo(new BigDecimal("1500.75"));
+        account.setLimiteDiarioSaque(new BigDecimal("1000"));
+        account.setCliente(client);
+        client.getContas().add(account);
+
+        for (long i = 0; i < transacoes; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(i);
+            transaction.setValor(BigDecimal.ONE);
+            transaction.setDataHora(LocalDateTime.now());
+            transaction.setConta(account);
+            account.getTransactions().add(transaction);
+        }
+    }
+
+    @Benchmark
+    public int hashCodeDaConta() {
+        return account.hashCode();
+    }
+
+    @Benchmark
+    public Set<Object> conjuntoComContaEHistorico() {
+        Set<Object> entidades = new HashSet<>();
+        entidades.add(account);
+        entidades.add(account.getCliente());
+        entidades.add(account.getTransactions().get(0));
+        return entidades;
+    }
+
+    @Benchmark
+    public String toStringDaConta() {
+        return account.toString();
+    }
+}
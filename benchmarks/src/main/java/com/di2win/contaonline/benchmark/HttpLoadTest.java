@@ -0,0 +1,395 @@
+package com.di2win.contaonline.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Teste de carga HTTP de ponta a ponta: sobe a aplicação no perfil de testes (H2), abre as contas
+ * pela API ({@code /api/clients} e {@code /api/accounts}) e roda {@code usuarios} usuários em laço
+ * fechado, cada um sorteando a operação pelo mix (padrão 70% saldo, 20% depósito, 8% saque e 2%
+ * extrato) e a conta por uma distribuição de Zipf sobre a popularidade das contas.
+ *
+ * Os sorteios usam sementes fixas, então duas execuções com os mesmos parâmetros geram a mesma
+ * sequência de operações por usuário. Ao fim, mostra vazão, p50/p99/p99,9 e taxa de erros por
+ * endpoint, grava o relatório em JSON e, com {@code p99-maximo} ou {@code erros-maximo}, termina
+ * com código 1 quando algum endpoint passa do limite.
+ *
+ * <pre>mvn package exec:exec@carga -Dcarga.args="usuarios=32 duracao=60 p99-maximo=50 erros-maximo=0.1"</pre>
+ */
+public final class HttpLoadTest {
+
+    enum Operacao {
+        SALDO("GET /api/accounts/{id}/balance"),
+        DEPOSITO("PUT /api/accounts/{id}/deposit"),
+        SAQUE("PUT /api/accounts/{id}/withdraw"),
+        EXTRATO("GET /api/accounts/{id}/transactions");
+
+        private final String endpoint;
+
+        Operacao(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+
+    private HttpLoadTest(int porta) {
+        this.baseUrl = "http://localhost:" + porta + "/api/";
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            String[] chaveValor = arg.split("=", 2);
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Argumento inválido (use chave=valor): " + arg);
+            }
+            opcoes.put(chaveValor[0], chaveValor[1]);
+        }
+
+        int usuarios = Integer.parseInt(opcoes.getOrDefault("usuarios", "32"));
+        int contas = Integer.parseInt(opcoes.getOrDefault("contas", "1000"));
+        Duration aquecimento = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("aquecimento", "10")));
+        Duration duracao = Duration.ofSeconds(Long.parseLong(opcoes.getOrDefault("duracao", "60")));
+        double zipf = Double.parseDouble(opcoes.getOrDefault("zipf", "1.0"));
+        long semente = Long.parseLong(opcoes.getOrDefault("semente", "42"));
+        int[] mix = Arrays.stream(opcoes.getOrDefault("mix", "70,20,8,2").split(","))
+                .mapToInt(peso -> Integer.parseInt(peso.trim()))
+                .toArray();
+        if (mix.length != Operacao.values().length) {
+            throw new IllegalArgumentException("O mix deve ter 4 pesos: saldo, depósito, saque e extrato.");
+        }
+        File arquivoResultado = new File(opcoes.getOrDefault("resultado", "target/carga-result.json"));
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("usuarios", usuarios);
+        parametros.put("contas", contas);
+        parametros.put("duracaoSegundos", duracao.toSeconds());
+        parametros.put("zipf", zipf);
+        parametros.put("semente", semente);
+        parametros.put("mix", mix);
+
+        ConfigurableApplicationContext context = BenchmarkSupport.iniciarServidor();
+        boolean aprovado;
+        try {
+            HttpLoadTest teste = new HttpLoadTest(BenchmarkSupport.porta(context));
+            List<Long> ids = teste.abrirContas(contas);
+            // a conta mais popular não deve ser sempre a primeira aberta
+            Collections.shuffle(ids, new Random(semente));
+            Carga carga = new Carga(ids, zipf, mix);
+
+            System.out.printf("Aquecimento: %d s%n", aquecimento.toSeconds());
+            teste.rodar(carga, usuarios, aquecimento, semente - 1);
+            System.out.printf("Medição: %d s com %d usuários%n", duracao.toSeconds(), usuarios);
+            Medicoes medicoes = teste.rodar(carga, usuarios, duracao, semente);
+
+            Map<String, Object> relatorio = medicoes.relatorio(parametros, duracao);
+            arquivoResultado.getAbsoluteFile().getParentFile().mkdirs();
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(arquivoResultado, relatorio);
+            System.out.println("Relatório gravado em " + arquivoResultado.getAbsolutePath());
+
+            aprovado = medicoes.verificarLimites(opcoes.get("p99-maximo"), opcoes.get("erros-maximo"));
+        } finally {
+            context.close();
+        }
+        System.exit(aprovado ? 0 : 1);
+    }
+
+    private List<Long> abrirContas(int quantidade) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            String cpf = BenchmarkSupport.cpfValido(700_000_000L + i);
+            enviarComSucesso(HttpRequest.newBuilder(URI.create(baseUrl + "clients"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"cpf\": \"" + cpf + "\", \"nome\": \"Cliente Carga " + i + "\", \"dataNascimento\": \"1985-05-05\"}"))
+                    .build());
+            JsonNode conta = objectMapper.readTree(enviarComSucesso(HttpRequest.newBuilder(URI.create(baseUrl + "accounts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"cpf\": \"" + cpf + "\"}"))
+                    .build()));
+            long id = conta.get("id").asLong();
+            enviarComSucesso(movimentacao(id, "deposit", "1000.00"));
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private String enviarComSucesso(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " respondeu "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private Medicoes rodar(Carga carga, int usuarios, Duration duracao, long semente) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        try {
+            long fim = System.nanoTime() + duracao.toNanos();
+            List<Future<Medicoes>> futuros = new ArrayList<>(usuarios);
+            for (int u = 0; u < usuarios; u++) {
+                SplittableRandom random = new SplittableRandom(semente * 1_000_003L + u);
+                futuros.add(executor.submit(() -> usuario(carga, random, fim)));
+            }
+            Medicoes total = new Medicoes();
+            for (Future<Medicoes> futuro : futuros) {
+                total.somar(futuro.get());
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Medicoes usuario(Carga carga, SplittableRandom random, long fim) throws InterruptedException {
+        Medicoes medicoes = new Medicoes();
+        while (System.nanoTime() < fim) {
+            Operacao operacao = carga.sortearOperacao(random);
+            HttpRequest request = requisicao(operacao, carga.sortearConta(random));
+            long inicio = System.nanoTime();
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            medicoes.registrar(operacao, status, System.nanoTime() - inicio);
+        }
+        return medicoes;
+    }
+
+    private HttpRequest requisicao(Operacao operacao, long contaId) {
+        return switch (operacao) {
+            case SALDO -> HttpRequest.newBuilder(URI.create(baseUrl + "accounts/" + contaId + "/balance")).GET().build();
+            case DEPOSITO -> movimentacao(contaId, "deposit", "1.00");
+            // saques pequenos, para o limite diário de 1000 não ser atingido nas contas mais populares
+            case SAQUE -> movimentacao(contaId, "withdraw", "0.01");
+            case EXTRATO -> {
+                LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "accounts/" + contaId + "/transactions?start="
+                        + agora.minusDays(1) + "&end=" + agora)).GET().build();
+            }
+        };
+    }
+
+    private HttpRequest movimentacao(long contaId, String operacao, String valor) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "accounts/" + contaId + "/" + operacao))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": " + valor + "}"))
+                .build();
+    }
+
+    /**
+     * Sorteio da operação pelo mix e da conta pela distribuição de Zipf: a conta de posição k
+     * (a partir de 1) tem peso 1/k^expoente.
+     */
+    private static final class Carga {
+
+        private final long[] contas;
+        private final double[] acumuladaZipf;
+        private final int[] acumuladaMix;
+
+        private Carga(List<Long> contas, double expoente, int[] mix) {
+            this.contas = contas.stream().mapToLong(Long::longValue).toArray();
+            acumuladaZipf = new double[this.contas.length];
+            double soma = 0;
+            for (int k = 0; k < acumuladaZipf.length; k++) {
+                soma += 1 / Math.pow(k + 1, expoente);
+                acumuladaZipf[k] = soma;
+            }
+            for (int k = 0; k < acumuladaZipf.length; k++) {
+                acumuladaZipf[k] /= soma;
+            }
+            acumuladaMix = new int[mix.length];
+            int total = 0;
+            for (int i = 0; i < mix.length; i++) {
+                total += mix[i];
+                acumuladaMix[i] = total;
+            }
+        }
+
+        private Operacao sortearOperacao(SplittableRandom random) {
+            int sorteio = random.nextInt(acumuladaMix[acumuladaMix.length - 1]);
+            int i = 0;
+            while (sorteio >= acumuladaMix[i]) {
+                i++;
+            }
+            return Operacao.values()[i];
+        }
+
+        private long sortearConta(SplittableRandom random) {
+            int posicao = Arrays.binarySearch(acumuladaZipf, random.nextDouble());
+            posicao = posicao >= 0 ? posicao : -posicao - 1;
+            return contas[Math.min(posicao, contas.length - 1)];
+        }
+    }
+
+    private static final class Medicoes {
+
+        private final Map<Operacao, Latencias> latencias = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Map<Integer, Long>> status = new EnumMap<>(Operacao.class);
+
+        private Medicoes() {
+            for (Operacao operacao : Operacao.values()) {
+                latencias.put(operacao, new Latencias());
+                status.put(operacao, new TreeMap<>());
+            }
+        }
+
+        private void registrar(Operacao operacao, int codigo, long nanos) {
+            latencias.get(operacao).adicionar(nanos);
+            status.get(operacao).merge(codigo, 1L, Long::sum);
+        }
+
+        private void somar(Medicoes outras) {
+            for (Operacao operacao : Operacao.values()) {
+                latencias.get(operacao).adicionar(outras.latencias.get(operacao));
+                outras.status.get(operacao).forEach((codigo, quantidade) -> status.get(operacao).merge(codigo, quantidade, Long::sum));
+            }
+        }
+
+        private static long erros(Map<Integer, Long> status) {
+            return status.entrySet().stream()
+                    .filter(entrada -> entrada.getKey() < 200 || entrada.getKey() >= 300)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        private Map<String, Object> relatorio(Map<String, Object> parametros, Duration duracao) {
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            Latencias todas = new Latencias();
+            Map<Integer, Long> statusTotal = new TreeMap<>();
+            System.out.printf("%-36s %9s %9s %9s %9s %9s %9s %8s%n",
+                    "Endpoint", "Reqs", "Req/s", "p50 ms", "p99 ms", "p99,9 ms", "Máx ms", "Erros %");
+            for (Operacao operacao : Operacao.values()) {
+                Latencias latenciasOperacao = latencias.get(operacao);
+                todas.adicionar(latenciasOperacao);
+                status.get(operacao).forEach((codigo, quantidade) -> statusTotal.merge(codigo, quantidade, Long::sum));
+                endpoints.put(operacao.endpoint, linha(operacao.endpoint, latenciasOperacao, status.get(operacao), duracao));
+            }
+            Map<String, Object> total = linha("Total", todas, statusTotal, duracao);
+
+            Map<String, Object> relatorio = new LinkedHashMap<>();
+            relatorio.put("data", LocalDate.now().toString());
+            relatorio.put("parametros", parametros);
+            relatorio.put("endpoints", endpoints);
+            relatorio.put("total", total);
+            return relatorio;
+        }
+
+        private static Map<String, Object> linha(String nome, Latencias latencias, Map<Integer, Long> status, Duration duracao) {
+            long[] ordenadas = latencias.ordenadas();
+            double errosPercentual = ordenadas.length == 0 ? 0 : 100.0 * erros(status) / ordenadas.length;
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("requisicoes", ordenadas.length);
+            linha.put("vazao", ordenadas.length / (double) duracao.toSeconds());
+            linha.put("p50Ms", percentil(ordenadas, 0.50));
+            linha.put("p99Ms", percentil(ordenadas, 0.99));
+            linha.put("p999Ms", percentil(ordenadas, 0.999));
+            linha.put("maximoMs", percentil(ordenadas, 1.0));
+            linha.put("errosPercentual", errosPercentual);
+            linha.put("status", status);
+            System.out.printf("%-36s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8.2f  %s%n",
+                    nome, ordenadas.length, linha.get("vazao"), linha.get("p50Ms"), linha.get("p99Ms"),
+                    linha.get("p999Ms"), linha.get("maximoMs"), errosPercentual, status);
+            return linha;
+        }
+
+        /**
+         * Confere p99 (ms) e taxa de erros (%) de cada endpoint contra os limites informados.
+         */
+        private boolean verificarLimites(String p99Maximo, String errosMaximo) {
+            boolean aprovado = true;
+            for (Operacao operacao : Operacao.values()) {
+                long[] ordenadas = latencias.get(operacao).ordenadas();
+                if (ordenadas.length == 0) {
+                    continue;
+                }
+                double p99 = percentil(ordenadas, 0.99);
+                double erros = 100.0 * erros(status.get(operacao)) / ordenadas.length;
+                if (p99Maximo != null && p99 > Double.parseDouble(p99Maximo)) {
+                    System.out.printf("REPROVADO: %s com p99 de %.2f ms, acima de %s ms%n", operacao.endpoint, p99, p99Maximo);
+                    aprovado = false;
+                }
+                if (errosMaximo != null && erros > Double.parseDouble(errosMaximo)) {
+                    System.out.printf("REPROVADO: %s com %.2f%% de erros, acima de %s%%%n", operacao.endpoint, erros, errosMaximo);
+                    aprovado = false;
+                }
+            }
+            if (aprovado && (p99Maximo != null || errosMaximo != null)) {
+                System.out.println("APROVADO: todos os endpoints dentro dos limites.");
+            }
+            return aprovado;
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, Math.min(ordenadas.length - 1, indice))] / 1e6;
+        }
+    }
+
+    /**
+     * Latências em nanossegundos, guardadas sem boxing.
+     */
+    private static final class Latencias {
+
+        private long[] valores = new long[1024];
+        private int tamanho;
+
+        private void adicionar(long nanos) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = nanos;
+        }
+
+        private void adicionar(Latencias outras) {
+            for (int i = 0; i < outras.tamanho; i++) {
+                adicionar(outras.valores[i]);
+            }
+        }
+
+        private long[] ordenadas() {
+            long[] ordenadas = Arrays.copyOf(valores, tamanho);
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.dto.ClientResponseDTO;
+import com.di2win.contaonline.dto.TransactionDTO;
+import com.di2win.contaonline.entity.TransactionType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização para JSON das respostas de movimentação ({@link AccountResponseDTO}) e do extrato
+ * (lista de {@link TransactionDTO}) com o ObjectMapper configurado pela aplicação, o mesmo usado
+ * pelos controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private AccountResponseDTO conta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConfigurableApplicationContext context = BenchmarkSupport.iniciarContexto();
+        writer = context.getBean(ObjectMapper.class).writer();
+        context.close();
+
+        ClientResponseDTO cliente = new ClientResponseDTO();
+        cliente.setId(1L);
+        cliente.setNome("Cliente Benchmark");
+        cliente.setCpf("52998224725");
+        cliente.setDataNascimento(LocalDate.of(1980, 1, 1));
+
+        conta = new AccountResponseDTO();
+        conta.setId(1L);
+        conta.setAgencia("1234");
+        conta.setNumeroConta("90000001");
+        conta.setSaldo(new BigDecimal("1500.75"));
+        conta.setLimiteDiarioSaque(new BigDecimal("1000"));
+        conta.setCliente(cliente);
+    }
+
+    @Benchmark
+    public byte[] accountResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(conta);
+    }
+
+    @Benchmark
+    public byte[] transactions(Extrato extrato) throws JsonProcessingException {
+        return writer.writeValueAsBytes(extrato.transacoes);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Extrato {
+
+        @Param({"1", "100", "1000"})
+        public int tamanho;
+
+        private List<TransactionDTO> transacoes;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 9, 0);
+            transacoes = new ArrayList<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                TransactionType tipo = i % 2 == 0 ? TransactionType.DEPOSITO : TransactionType.SAQUE;
+                transacoes.add(new TransactionDTO((long) i, new BigDecimal("10.50"), tipo, inicio.plusMinutes(i)));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.service.AccountCommandExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Depósitos por segundo com 8 threads concorrentes, atualizando o saldo da conta sob bloqueio
+ * ({@code saldo}) ou gravando lançamentos no livro-razão ({@code razao}), com todas as threads em
+ * uma única conta ou espalhadas por 1.000 contas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(8)
+public class LedgerBenchmark {
+
+    @Param({"saldo", "razao"})
+    public String modo;
+
+    @Param({"1", "1000"})
+    public int contas;
+
+    private ConfigurableApplicationContext context;
+    private AccountCommandExecutor accountCommandExecutor;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // na conta única as tentativas não se esgotam: o custo das colisões aparece na vazão, sem o
+        // log de erro que o Hibernate emite a cada colisão
+        context = BenchmarkSupport.iniciarContexto(
+                "contaonline.ledger.enabled=" + modo.equals("razao"),
+                "contaonline.ledger.tentativas=1000",
+                "logging.level.org.hibernate.orm.jdbc.batch=OFF",
+                "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+                "contaonline.ledger.verificacao.intervalo=3600000");
+        accountCommandExecutor = context.getBean(AccountCommandExecutor.class);
+
+        Client client = BenchmarkSupport.criarCliente(context);
+        ids = new long[contas];
+        for (int i = 0; i < contas; i++) {
+            ids[i] = BenchmarkSupport.criarConta(context, client, BigDecimal.ZERO).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccountResponseDTO deposito() {
+        long accountId = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return accountCommandExecutor.deposit(accountId, BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.service.OnboardingJob;
+import com.di2win.contaonline.service.OnboardingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aberturas (cliente + conta) por segundo de um arquivo CSV com 100.000 linhas novas, do envio
+ * ao fim do job.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OnboardingBenchmark {
+
+    private static final int LINHAS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private OnboardingService onboardingService;
+    private long proximaBase = 100_000_000L;
+    private byte[] arquivo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.iniciarContexto();
+        onboardingService = context.getBean(OnboardingService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void gerarArquivo() {
+        StringBuilder csv = new StringBuilder(LINHAS * 40).append("cpf,nome,dataNascimento\n");
+        for (int i = 0; i < LINHAS; i++) {
+            csv.append(BenchmarkSupport.cpfValido(proximaBase++)).append(",Cliente Campanha ").append(i).append(",1990-01-01\n");
+        }
+        arquivo = csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINHAS)
+    public OnboardingJob onboarding() throws InterruptedException {
+        OnboardingJob job = onboardingService.submit(arquivo, OnboardingService.Formato.CSV);
+        while (job.getConcluidoEm() == null) {
+            Thread.sleep(5);
+        }
+        if (job.getContasAbertas().get() != LINHAS) {
+            throw new IllegalStateException("Job terminou com " + job.getLinhasComErro().get() + " erros");
+        }
+        return job;
+    }
+}
@@ -0,0 +1,99 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.dto.TransactionDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a leitura de saldo e extrato via entidades gerenciadas (caminho anterior: carrega a
+ * conta com o cliente, hidrata cada transação e mapeia para DTO) com as projeções em DTO.
+ * Rodar com {@code -prof gc} para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProjectionBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int linhas;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private AccountRepository accountRepository;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long accountId;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.iniciarContexto();
+        accountService = context.getBean(AccountService.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Account account = BenchmarkSupport.criarConta(context, BenchmarkSupport.criarCliente(context), new BigDecimal("1000"));
+        accountId = account.getId();
+        BenchmarkSupport.inserirHistorico(context, accountId, linhas);
+        inicio = LocalDateTime.now().minusYears(1);
+        fim = LocalDateTime.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal saldoEntidade() {
+        return accountRepository.findById(accountId).orElseThrow().getSaldo();
+    }
+
+    @Benchmark
+    public BigDecimal saldoProjecao() {
+        return accountService.getBalance(accountId).getSaldo();
+    }
+
+    @Benchmark
+    public List<TransactionDTO> extratoEntidade() {
+        return transactionTemplate.execute(status -> {
+            Account account = accountRepository.findById(accountId).orElseThrow();
+            return transactionRepository.findByContaAndDataHoraBetween(account, inicio, fim).stream()
+                    .map(transaction -> new TransactionDTO(transaction.getId(), transaction.getValor(),
+                            transaction.getTipo(), transaction.getDataHora()))
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<TransactionDTO> extratoProjecao() {
+        return accountService.getTransactionsByPeriod(accountId, inicio, fim);
+    }
+}
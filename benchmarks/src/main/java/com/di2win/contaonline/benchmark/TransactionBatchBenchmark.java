@@ -0,0 +1,93 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.dto.TransactionBatchItemDTO;
+import com.di2win.contaonline.dto.TransactionBatchResponseDTO;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.service.AccountService;
+import com.di2win.contaonline.service.TransactionBatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão, em movimentações por segundo, da importação em lote comparada a uma chamada de
+ * depósito/saque por movimentação, para lotes espalhados por 1 a 1.000 contas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionBatchBenchmark {
+
+    private static final int MOVIMENTACOES = 5_000;
+
+    @Param({"1", "100", "1000"})
+    public int contas;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private TransactionBatchService transactionBatchService;
+    private List<TransactionBatchItemDTO> lote;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.iniciarContexto();
+        accountService = context.getBean(AccountService.class);
+        transactionBatchService = context.getBean(TransactionBatchService.class);
+
+        Client client = BenchmarkSupport.criarCliente(context);
+        List<Long> ids = new ArrayList<>(contas);
+        for (int i = 0; i < contas; i++) {
+            ids.add(BenchmarkSupport.criarConta(context, client, new BigDecimal("1000000000000")).getId());
+        }
+
+        // depósitos e saques alternados, distribuídos entre as contas
+        lote = new ArrayList<>(MOVIMENTACOES);
+        for (int i = 0; i < MOVIMENTACOES; i++) {
+            TransactionType tipo = i % 2 == 0 ? TransactionType.DEPOSITO : TransactionType.SAQUE;
+            lote.add(new TransactionBatchItemDTO(ids.get(i % contas), tipo, BigDecimal.ONE));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVIMENTACOES)
+    public TransactionBatchResponseDTO lote() {
+        return transactionBatchService.importar(lote);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVIMENTACOES)
+    public void individual(Blackhole blackhole) {
+        for (TransactionBatchItemDTO item : lote) {
+            blackhole.consume(item.getTipo() == TransactionType.SAQUE
+                    ? accountService.withdraw(item.getAccountId(), item.getValor())
+                    : accountService.deposit(item.getAccountId(), item.getValor()));
+        }
+    }
+}
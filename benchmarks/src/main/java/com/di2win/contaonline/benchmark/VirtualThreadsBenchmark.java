@@ -0,0 +1,103 @@
+package com.di2win.contaonline.benchmark;
+
+import com.di2win.contaonline.entity.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão e latência (p99 no modo SampleTime) de depósito e consulta de saldo via HTTP, com 400
+ * clientes simultâneos, acima das 200 threads do Tomcat. Compara o pool de threads de plataforma
+ * com o perfil {@code virtual}, que exige Java 21: em versões anteriores essa variação falha no
+ * setup em vez de repetir o resultado da outra.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(400)
+public class VirtualThreadsBenchmark {
+
+    private static final int CONTAS = 1_000;
+
+    @Param({"plataforma", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (threads.equals("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Threads virtuais exigem Java 21; JVM atual: " + Runtime.version());
+        }
+        context = threads.equals("virtual")
+                ? BenchmarkSupport.iniciarServidor("spring.profiles.include=virtual")
+                : BenchmarkSupport.iniciarServidor();
+        baseUrl = "http://localhost:" + BenchmarkSupport.porta(context) + "/api/accounts/";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        Client client = BenchmarkSupport.criarCliente(context);
+        ids = new long[CONTAS];
+        for (int i = 0; i < CONTAS; i++) {
+            ids[i] = BenchmarkSupport.criarConta(context, client, BigDecimal.ZERO).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public String deposito() throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(baseUrl + contaAleatoria() + "/deposit"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"amount\": 1.00}"))
+                .build());
+    }
+
+    @Benchmark
+    public String saldo() throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(baseUrl + contaAleatoria() + "/balance")).GET().build());
+    }
+
+    private long contaAleatoria() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private String enviar(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
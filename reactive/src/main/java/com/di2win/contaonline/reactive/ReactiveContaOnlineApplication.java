@@ -0,0 +1,16 @@
+package com.di2win.contaonline.reactive;
+
+import com.di2win.contaonline.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication
+@Import(GlobalExceptionHandler.class)
+public class ReactiveContaOnlineApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveContaOnlineApplication.class, args);
+	}
+
+}
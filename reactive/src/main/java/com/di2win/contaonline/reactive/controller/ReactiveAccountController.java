@@ -0,0 +1,35 @@
+package com.di2win.contaonline.reactive.controller;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.dto.DepositDTO;
+import com.di2win.contaonline.dto.WithdrawalDTO;
+import com.di2win.contaonline.reactive.service.ReactiveAccountService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping("/api/accounts")
+public class ReactiveAccountController {
+
+    @Autowired
+    private ReactiveAccountService reactiveAccountService;
+
+    @GetMapping("/{accountId}/balance")
+    public Mono<BigDecimal> getBalance(@PathVariable Long accountId) {
+        return reactiveAccountService.getBalance(accountId);
+    }
+
+    @PutMapping("/{accountId}/deposit")
+    public Mono<AccountResponseDTO> deposit(@PathVariable Long accountId, @RequestBody @Valid DepositDTO depositDTO) {
+        return reactiveAccountService.deposit(accountId, depositDTO.getAmount());
+    }
+
+    @PutMapping("/{accountId}/withdraw")
+    public Mono<AccountResponseDTO> withdraw(@PathVariable Long accountId, @RequestBody @Valid WithdrawalDTO withdrawalDTO) {
+        return reactiveAccountService.withdraw(accountId, withdrawalDTO.getAmount());
+    }
+}
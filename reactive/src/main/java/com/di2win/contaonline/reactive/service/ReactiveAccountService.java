@@ -0,0 +1,243 @@
+package com.di2win.contaonline.reactive.service;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.dto.ClientResponseDTO;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.exception.account.AccountBlockedException;
+import com.di2win.contaonline.exception.account.AccountNotFoundException;
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.exception.account.WithdrawalLimitExceededException;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Depósito, saque e saldo sobre R2DBC, com as regras do AccountService bloqueante. Cada
+ * movimentação é uma transação que começa bloqueando a linha da conta (SELECT ... FOR UPDATE):
+ * movimentações da mesma conta esperam a anterior no banco, sem ocupar thread, e saldo e
+ * acumulado de saques do dia nunca são lidos por duas delas ao mesmo tempo.
+ *
+ * As tabelas são as da aplicação principal; o módulo não tem o modo livro-razão e não deve
+ * ser usado com {@code contaonline.ledger.enabled=true}. Com {@code contaonline.outbox.enabled=true},
+ * cada movimentação grava seu evento em eventos_saida na mesma transação, e o relay da aplicação
+ * principal o entrega como os demais.
+ */
+@Service
+public class ReactiveAccountService {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Value("${contaonline.outbox.enabled:false}")
+    private boolean outboxEnabled;
+
+    public Mono<BigDecimal> getBalance(Long accountId) {
+        return databaseClient.sql("select saldo from contas where id = :id")
+                .bind("id", accountId)
+                .map(row -> row.get("saldo", BigDecimal.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> naoEncontrada(accountId)));
+    }
+
+    public Mono<AccountResponseDTO> deposit(Long accountId, BigDecimal amount) {
+        return bloquear(accountId)
+                .flatMap(conta -> {
+                    if (conta.isBloqueada()) {
+                        return Mono.error(new AccountBlockedException("A conta está bloqueada e não pode receber depósitos."));
+                    }
+                    if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                        return Mono.error(new IllegalArgumentException("O valor do depósito deve ser maior que zero."));
+                    }
+
+                    LocalDateTime agora = LocalDateTime.now();
+                    conta.setSaldo(conta.getSaldo().add(amount));
+                    return atualizarSaldo(conta)
+                            .then(inserirTransacao(accountId, amount, TransactionType.DEPOSITO, agora))
+                            .flatMap(transacaoId -> registrarEvento(conta, transacaoId, TransactionType.DEPOSITO, amount, agora))
+                            .then(comCliente(conta));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<AccountResponseDTO> withdraw(Long accountId, BigDecimal amount) {
+        return bloquear(accountId)
+                .flatMap(conta -> {
+                    if (conta.isBloqueada()) {
+                        return Mono.error(new AccountBlockedException("A conta está bloqueada e não pode realizar saques."));
+                    }
+                    if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+                        return Mono.error(new IllegalArgumentException("O valor do saque deve ser maior que zero."));
+                    }
+                    if (conta.getSaldo().compareTo(amount) < 0) {
+                        return Mono.error(new InsufficientBalanceException("Saldo insuficiente!"));
+                    }
+
+                    LocalDateTime agora = LocalDateTime.now();
+                    LocalDate hoje = agora.toLocalDate();
+                    return saquesDoDia(accountId, hoje).flatMap(saques -> {
+                        BigDecimal total = saques.total.add(amount);
+                        if (total.compareTo(conta.getLimiteDiarioSaque()) > 0) {
+                            return Mono.error(new WithdrawalLimitExceededException("O valor total de saques do dia excede o limite diário permitido."));
+                        }
+
+                        conta.setSaldo(conta.getSaldo().subtract(amount));
+                        return atualizarSaldo(conta)
+                                .then(gravarSaquesDoDia(accountId, hoje, total, saques.existente))
+                                .then(inserirTransacao(accountId, amount, TransactionType.SAQUE, agora))
+                                .flatMap(transacaoId -> registrarEvento(conta, transacaoId, TransactionType.SAQUE, amount, agora))
+                                .then(comCliente(conta));
+                    });
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<AccountResponseDTO> bloquear(Long accountId) {
+        return databaseClient.sql("select id, numero_conta, agencia, saldo, limite_diario_saque, bloqueada, cliente_id " +
+                        "from contas where id = :id for update")
+                .bind("id", accountId)
+                .map(ReactiveAccountService::mapConta)
+                .one()
+                .switchIfEmpty(Mono.error(() -> naoEncontrada(accountId)));
+    }
+
+    private Mono<AccountResponseDTO> comCliente(AccountResponseDTO conta) {
+        return databaseClient.sql("select id, cpf, nome, data_nascimento from clientes where id = :id")
+                .bind("id", conta.getCliente().getId())
+                .map(ReactiveAccountService::mapCliente)
+                .one()
+                .map(cliente -> {
+                    conta.setCliente(cliente);
+                    return conta;
+                });
+    }
+
+    private Mono<Long> atualizarSaldo(AccountResponseDTO conta) {
+        return databaseClient.sql("update contas set saldo = :saldo where id = :id")
+                .bind("saldo", conta.getSaldo())
+                .bind("id", conta.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * O id vem do default da coluna (a sequência transacoes_seq), como nas demais inserções fora
+     * do Hibernate, e é devolvido para o evento do outbox.
+     */
+    private Mono<Long> inserirTransacao(Long accountId, BigDecimal amount, TransactionType tipo, LocalDateTime dataHora) {
+        return databaseClient.sql("insert into transacoes (conta_id, valor, tipo, data_hora) values (:conta, :valor, :tipo, :dataHora)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("conta", accountId)
+                .bind("valor", amount)
+                .bind("tipo", tipo.name())
+                .bind("dataHora", dataHora)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    /**
+     * Mesmo evento que o OutboxService grava na aplicação principal, com o saldo logo depois da
+     * movimentação; o id vem do default da coluna (a sequência eventos_saida_seq).
+     */
+    private Mono<Long> registrarEvento(AccountResponseDTO conta, Long transacaoId, TransactionType tipo,
+                                       BigDecimal amount, LocalDateTime dataHora) {
+        if (!outboxEnabled) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("insert into eventos_saida (conta_id, transacao_id, tipo, valor, saldo, data_hora, criado_em) " +
+                        "values (:conta, :transacao, :tipo, :valor, :saldo, :dataHora, :criadoEm)")
+                .bind("conta", conta.getId())
+                .bind("transacao", transacaoId)
+                .bind("tipo", tipo.name())
+                .bind("valor", amount)
+                .bind("saldo", conta.getSaldo())
+                .bind("dataHora", dataHora)
+                .bind("criadoEm", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Acumulado de saques do dia em saques_diarios; sem linha para o dia, parte da soma dos saques
+     * já registrados em transacoes.
+     */
+    private Mono<SaquesDoDia> saquesDoDia(Long accountId, LocalDate data) {
+        Mono<SaquesDoDia> calculado = databaseClient.sql("select coalesce(sum(valor), 0) as total from transacoes " +
+                        "where conta_id = :conta and tipo = :tipo and data_hora between :inicio and :fim")
+                .bind("conta", accountId)
+                .bind("tipo", TransactionType.SAQUE.name())
+                .bind("inicio", data.atStartOfDay())
+                .bind("fim", data.atTime(LocalTime.MAX))
+                .map(row -> new SaquesDoDia(row.get("total", BigDecimal.class), false))
+                .one();
+
+        return databaseClient.sql("select total from saques_diarios where conta_id = :conta and data = :data")
+                .bind("conta", accountId)
+                .bind("data", data)
+                .map(row -> new SaquesDoDia(row.get("total", BigDecimal.class), true))
+                .one()
+                .switchIfEmpty(calculado);
+    }
+
+    private Mono<Long> gravarSaquesDoDia(Long accountId, LocalDate data, BigDecimal total, boolean existente) {
+        String sql = existente
+                ? "update saques_diarios set total = :total where conta_id = :conta and data = :data"
+                : "insert into saques_diarios (conta_id, data, total) values (:conta, :data, :total)";
+        return databaseClient.sql(sql)
+                .bind("conta", accountId)
+                .bind("data", data)
+                .bind("total", total)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static AccountResponseDTO mapConta(Readable row) {
+        ClientResponseDTO cliente = new ClientResponseDTO();
+        cliente.setId(row.get("cliente_id", Long.class));
+
+        AccountResponseDTO conta = new AccountResponseDTO();
+        conta.setId(row.get("id", Long.class));
+        conta.setNumeroConta(row.get("numero_conta", String.class));
+        conta.setAgencia(row.get("agencia", String.class));
+        conta.setSaldo(row.get("saldo", BigDecimal.class));
+        conta.setLimiteDiarioSaque(row.get("limite_diario_saque", BigDecimal.class));
+        conta.setBloqueada(Boolean.TRUE.equals(row.get("bloqueada", Boolean.class)));
+        conta.setCliente(cliente);
+        return conta;
+    }
+
+    private static ClientResponseDTO mapCliente(Readable row) {
+        ClientResponseDTO cliente = new ClientResponseDTO();
+        cliente.setId(row.get("id", Long.class));
+        cliente.setCpf(row.get("cpf", String.class));
+        cliente.setNome(row.get("nome", String.class));
+        cliente.setDataNascimento(row.get("data_nascimento", LocalDate.class));
+        return cliente;
+    }
+
+    private static AccountNotFoundException naoEncontrada(Long accountId) {
+        return new AccountNotFoundException("Conta não encontrada: " + accountId);
+    }
+
+    private static final class SaquesDoDia {
+
+        private final BigDecimal total;
+        private final boolean existente;
+
+        private SaquesDoDia(BigDecimal total, boolean existente) {
+            this.total = total;
+            this.existente = existente;
+        }
+    }
+}
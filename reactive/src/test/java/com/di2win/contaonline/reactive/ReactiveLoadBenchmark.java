@@ -0,0 +1,185 @@
+package com.di2win.contaonline.reactive;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga de {@code clientes} clientes HTTP simultâneos (padrão 10.000), cada um com a própria
+ * conexão, sobre o módulo reativo. Cada cliente faz {@code requisicoes} chamadas seguidas,
+ * alternando depósito e consulta de saldo em contas aleatórias. Mostra vazão, latência (p50, p99,
+ * p99,9 e máxima) e o pico de conexões do pool R2DBC em uso e de aquisições na fila do pool.
+ *
+ * O banco é um PostgreSQL embutido (binários do zonky), iniciado em uma porta livre e migrado com
+ * as mesmas migrações da aplicação. Cada cliente abre um socket e o servidor outro, então o
+ * limite de arquivos abertos do processo precisa passar de 2x o número de clientes.
+ *
+ * <pre>mvn test-compile exec:java -Dclientes=10000 -Drequisicoes=5 -Dpool=20</pre>
+ */
+public final class ReactiveLoadBenchmark {
+
+    private static final long PRIMEIRA_CONTA = 1_000_000L;
+
+    private ReactiveLoadBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        int clientes = Integer.getInteger("clientes", 10_000);
+        int requisicoes = Integer.getInteger("requisicoes", 5);
+        int pool = Integer.getInteger("pool", 20);
+        int contas = Integer.getInteger("contas", 1_000);
+
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", String.valueOf(Math.max(100, pool + 10)))
+                .start();
+        String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        String r2dbcUrl = "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres";
+
+        Flyway.configure().dataSource(jdbcUrl, "postgres", "").load().migrate();
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveContaOnlineApplication.class).run(
+                "--server.port=0",
+                "--spring.flyway.enabled=false",
+                "--logging.level.root=WARN",
+                "--spring.r2dbc.url=" + r2dbcUrl,
+                "--spring.r2dbc.username=postgres",
+                "--spring.r2dbc.pool.initial-size=" + pool,
+                "--spring.r2dbc.pool.max-size=" + pool,
+                "--spring.r2dbc.pool.max-acquire-time=60s");
+        try {
+            criarContas(context.getBean(DatabaseClient.class), contas);
+
+            String base = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port") + "/api/accounts/";
+            ConnectionProvider conexoes = ConnectionProvider.builder("carga")
+                    .maxConnections(clientes)
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            HttpClient httpClient = HttpClient.create(conexoes);
+            PoolMetrics metricas = ((ConnectionPool) context.getBean(io.r2dbc.spi.ConnectionFactory.class)).getMetrics().orElseThrow();
+
+            // aquecimento com poucos clientes, sem medir
+            executar(httpClient, base, Math.min(clientes, 500), 2, contas, null);
+
+            Resultado resultado = executar(httpClient, base, clientes, requisicoes, contas, metricas);
+            resultado.imprimir(clientes, requisicoes, pool);
+            conexoes.dispose();
+        } finally {
+            context.close();
+            postgres.close();
+        }
+    }
+
+    private static void criarContas(DatabaseClient databaseClient, int contas) {
+        databaseClient.sql("insert into clientes (id, cpf, nome, data_nascimento) values (:id, '52998224725', 'Cliente Carga', :nascimento)")
+                .bind("id", PRIMEIRA_CONTA)
+                .bind("nascimento", LocalDate.of(1985, 5, 5))
+                .fetch().rowsUpdated().block();
+        Flux.range(0, contas)
+                .concatMap(i -> databaseClient.sql("insert into contas (id, numero_conta, agencia, saldo, limite_diario_saque, bloqueada, cliente_id) " +
+                                "values (:id, :numero, '1234', 0, 1000, false, :cliente)")
+                        .bind("id", PRIMEIRA_CONTA + i)
+                        .bind("numero", String.format("8%07d", i))
+                        .bind("cliente", PRIMEIRA_CONTA)
+                        .fetch().rowsUpdated())
+                .blockLast();
+    }
+
+    private static Resultado executar(HttpClient httpClient, String base, int clientes, int requisicoes, int contas,
+                                      PoolMetrics metricas) {
+        Resultado resultado = new Resultado(clientes * requisicoes);
+        Disposable amostragem = metricas == null ? null : Flux.interval(Duration.ofMillis(5))
+                .subscribe(tick -> resultado.amostrar(metricas));
+
+        long inicio = System.nanoTime();
+        Flux.range(0, clientes)
+                .flatMap(cliente -> Flux.range(0, requisicoes)
+                        .concatMap(i -> requisicao(httpClient, base, i % 2 == 0, contas, resultado)), clientes)
+                .blockLast();
+        resultado.duracaoNanos = System.nanoTime() - inicio;
+
+        if (amostragem != null) {
+            amostragem.dispose();
+        }
+        return resultado;
+    }
+
+    private static Mono<Integer> requisicao(HttpClient httpClient, String base, boolean deposito, int contas, Resultado resultado) {
+        return Mono.defer(() -> {
+            long conta = PRIMEIRA_CONTA + ThreadLocalRandom.current().nextInt(contas);
+            long inicio = System.nanoTime();
+            HttpClient.ResponseReceiver<?> envio = deposito
+                    ? httpClient.headers(h -> h.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                            .put().uri(base + conta + "/deposit")
+                            .send(ByteBufFlux.fromString(Mono.just("{\"amount\": 1.00}")))
+                    : httpClient.get().uri(base + conta + "/balance");
+            return envio.responseSingle((response, corpo) -> corpo.asString().then(Mono.just(response.status().code())))
+                    .onErrorReturn(-1)
+                    .doOnNext(status -> resultado.registrar(status, System.nanoTime() - inicio));
+        });
+    }
+
+    private static final class Resultado {
+
+        private final long[] latencias;
+        private final AtomicInteger registradas = new AtomicInteger();
+        private final Map<Integer, LongAdder> status = new ConcurrentHashMap<>();
+        private volatile int picoConexoes;
+        private volatile int picoFila;
+        private long duracaoNanos;
+
+        private Resultado(int total) {
+            latencias = new long[total];
+        }
+
+        private void registrar(int codigo, long nanos) {
+            latencias[registradas.getAndIncrement()] = nanos;
+            status.computeIfAbsent(codigo, c -> new LongAdder()).increment();
+        }
+
+        private void amostrar(PoolMetrics metricas) {
+            picoConexoes = Math.max(picoConexoes, metricas.acquiredSize());
+            picoFila = Math.max(picoFila, metricas.pendingAcquireSize());
+        }
+
+        private void imprimir(int clientes, int requisicoes, int pool) {
+            int total = registradas.get();
+            long[] ordenadas = Arrays.copyOf(latencias, total);
+            Arrays.sort(ordenadas);
+
+            System.out.printf("Clientes: %d | requisições por cliente: %d | pool R2DBC: %d%n",
+                    clientes, requisicoes, pool);
+            System.out.printf("Requisições: %d em %.1f s (%.0f req/s) | status: %s%n",
+                    total, duracaoNanos / 1e9, total / (duracaoNanos / 1e9), new TreeMap<>(status));
+            System.out.printf("Latência (ms): p50 %.1f | p99 %.1f | p99,9 %.1f | máx %.1f%n",
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), percentil(ordenadas, 0.999),
+                    ordenadas[total - 1] / 1e6);
+            System.out.printf("Conexões do pool em uso (pico): %d | aquisições na fila (pico): %d%n", picoConexoes, picoFila);
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            return ordenadas[(int) Math.min(ordenadas.length - 1, Math.ceil(percentil * ordenadas.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.di2win.contaonline.reactive.controller;
+
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.reactive.service.ReactiveAccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "contaonline.outbox.enabled=true")
+@AutoConfigureWebTestClient
+public class ReactiveAccountControllerTest {
+
+    private static final long CLIENTE_ID = 900_001L;
+    private static final long CONTA_ID = 900_001L;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveAccountService reactiveAccountService;
+
+    @BeforeEach
+    void setUp() {
+        executar("delete from eventos_saida").block();
+        executar("delete from transacoes").block();
+        executar("delete from contas").block();
+        executar("delete from clientes").block();
+
+        databaseClient.sql("insert into clientes (id, cpf, nome, data_nascimento) values (:id, '52998224725', 'Cliente Reativo', :nascimento)")
+                .bind("id", CLIENTE_ID)
+                .bind("nascimento", LocalDate.of(1985, 5, 5))
+                .fetch().rowsUpdated().block();
+        databaseClient.sql("insert into contas (id, numero_conta, agencia, saldo, limite_diario_saque, bloqueada, cliente_id) " +
+                        "values (:id, '00000901', '1234', 100.00, 150.00, false, :cliente)")
+                .bind("id", CONTA_ID)
+                .bind("cliente", CLIENTE_ID)
+                .fetch().rowsUpdated().block();
+    }
+
+    @Test
+    void testDepositAndBalance() {
+        webTestClient.put().uri("/api/accounts/{id}/deposit", CONTA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": 50.00}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.saldo").isEqualTo(150.00)
+                .jsonPath("$.cliente.nome").isEqualTo("Cliente Reativo");
+
+        webTestClient.get().uri("/api/accounts/{id}/balance", CONTA_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("150.00");
+
+        assertEquals(1L, contarTransacoes());
+    }
+
+    @Test
+    void testMovementsWriteOutboxEventsWithTheirTransaction() {
+        reactiveAccountService.deposit(CONTA_ID, new BigDecimal("50.00")).block();
+        reactiveAccountService.withdraw(CONTA_ID, new BigDecimal("30.00")).block();
+        webTestClient.put().uri("/api/accounts/{id}/withdraw", CONTA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": 500.00}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        List<String> eventos = databaseClient.sql("select e.tipo, e.saldo from eventos_saida e " +
+                        "join transacoes t on t.id = e.transacao_id and t.conta_id = e.conta_id order by e.id")
+                .map(row -> row.get("tipo", String.class) + " " + row.get("saldo", BigDecimal.class).toPlainString())
+                .all()
+                .collectList()
+                .block();
+
+        assertEquals(List.of("DEPOSITO 150.00", "SAQUE 120.00"), eventos);
+    }
+
+    @Test
+    void testWithdrawRules() {
+        webTestClient.put().uri("/api/accounts/{id}/withdraw", CONTA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": 200.00}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Saldo insuficiente!");
+
+        reactiveAccountService.deposit(CONTA_ID, new BigDecimal("500.00")).block();
+        reactiveAccountService.withdraw(CONTA_ID, new BigDecimal("100.00")).block();
+
+        webTestClient.put().uri("/api/accounts/{id}/withdraw", CONTA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": 60.00}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("O valor total de saques do dia excede o limite diário permitido.");
+    }
+
+    @Test
+    void testBlockedAccountAndNotFound() {
+        executar("update contas set bloqueada = true").block();
+
+        webTestClient.put().uri("/api/accounts/{id}/deposit", CONTA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": 10.00}")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        webTestClient.get().uri("/api/accounts/{id}/balance", 999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Conta não encontrada: 999");
+    }
+
+    @Test
+    void testInvalidAmountUsesSharedValidation() {
+        webTestClient.put().uri("/api/accounts/{id}/deposit", CONTA_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"amount\": 0}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo("O valor do depósito deve ser maior que zero.");
+    }
+
+    @Test
+    void testConcurrentWithdrawalsNeverOverdraw() {
+        Long aprovados = Flux.range(0, 30)
+                .flatMap(i -> reactiveAccountService.withdraw(CONTA_ID, new BigDecimal("10.00"))
+                        .thenReturn(1L)
+                        .onErrorResume(InsufficientBalanceException.class, e -> Mono.just(0L)), 30)
+                .reduce(0L, Long::sum)
+                .block();
+
+        assertEquals(10L, aprovados);
+        assertEquals(0, BigDecimal.ZERO.compareTo(reactiveAccountService.getBalance(CONTA_ID).block()));
+        assertEquals(10L, contarTransacoes());
+    }
+
+    private Mono<Long> executar(String sql) {
+        return databaseClient.sql(sql).fetch().rowsUpdated();
+    }
+
+    private Long contarTransacoes() {
+        return databaseClient.sql("select count(*) as total from transacoes")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block();
+    }
+}
@@ -2,8 +2,10 @@ package com.di2win.contaonline;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Di2winContaOnlineApplication {
 
 	public static void main(String[] args) {
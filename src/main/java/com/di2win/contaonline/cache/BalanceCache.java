@@ -0,0 +1,94 @@
+package com.di2win.contaonline.cache;
+
+import com.di2win.contaonline.dto.AccountBalanceDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache em memória de saldo e status de bloqueio por id de conta, usado pela consulta de saldo.
+ *
+ * As escritas não atualizam o valor em cache: elas o removem depois do commit. Como a carga é
+ * atômica por chave, uma leitura iniciada antes do commit termina antes da remoção e a próxima
+ * leitura já enxerga o dado confirmado; gravar o valor novo no afterCommit poderia, com dois
+ * commits seguidos na mesma conta, deixar o mais antigo por último.
+ */
+@Component
+public class BalanceCache {
+
+    public static final String NOME = "saldos";
+
+    @Value("${contaonline.cache.saldos.enabled:true}")
+    private boolean enabled;
+
+    @Value("${contaonline.cache.saldos.tamanho-maximo:100000}")
+    private long tamanhoMaximo;
+
+    @Value("${contaonline.cache.saldos.ttl:60s}")
+    private Duration ttl;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private Cache<Long, AccountBalanceDTO> cache;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, NOME));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AccountBalanceDTO get(Long accountId, Function<Long, AccountBalanceDTO> loader) {
+        if (!enabled) {
+            return loader.apply(accountId);
+        }
+        return cache.get(accountId, loader);
+    }
+
+    /**
+     * Remove a conta do cache quando a transação corrente confirmar; sem transação ativa, remove
+     * na hora.
+     */
+    public void invalidateAfterCommit(Long accountId) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(accountId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(accountId);
+            }
+        });
+    }
+
+    public CacheStats stats() {
+        return enabled ? cache.stats() : CacheStats.empty();
+    }
+}
@@ -2,18 +2,32 @@ package com.di2win.contaonline.controller;
 
 import com.di2win.contaonline.dto.AccountCreationDTO;
 import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.dto.DailyBalanceDTO;
 import com.di2win.contaonline.dto.DepositDTO;
+import com.di2win.contaonline.dto.TransactionBatchDTO;
+import com.di2win.contaonline.dto.TransactionBatchResponseDTO;
 import com.di2win.contaonline.dto.TransactionDTO;
+import com.di2win.contaonline.dto.TransactionPageDTO;
 import com.di2win.contaonline.dto.WithdrawalDTO;
+import com.di2win.contaonline.metrics.SqlBudget;
+import com.di2win.contaonline.service.AccountCommandExecutor;
 import com.di2win.contaonline.service.AccountService;
+import com.di2win.contaonline.service.BalanceSnapshotService;
+import com.di2win.contaonline.service.TransactionBatchService;
 import com.di2win.contaonline.util.AccountMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,10 +35,26 @@ import java.util.List;
 @RequestMapping("/api/accounts")
 public class AccountController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int TAMANHO_MAXIMO_PAGINA = 1000;
+
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AccountCommandExecutor accountCommandExecutor;
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
+    @SqlBudget(5)
     public ResponseEntity<AccountResponseDTO> createAccount(@RequestBody AccountCreationDTO accountCreationDTO) {
         var newAccount = accountService.createAccount(accountCreationDTO);
         AccountResponseDTO responseDTO = AccountMapper.mapToAccountResponseDTO(newAccount);
@@ -32,52 +62,118 @@ public class AccountController {
     }
 
     @GetMapping("/{accountId}/balance")
-    public ResponseEntity<BigDecimal> getBalance(@PathVariable Long accountId) {
-        var account = accountService.findById(accountId);
-        return ResponseEntity.ok(account.getSaldo());
+    @SqlBudget(4)
+    public ResponseEntity<BigDecimal> getBalance(@PathVariable Long accountId,
+                                                 @RequestParam(required = false) LocalDateTime at) {
+        if (at != null) {
+            return ResponseEntity.ok(balanceSnapshotService.getBalanceAt(accountId, at));
+        }
+        return ResponseEntity.ok(accountService.getBalance(accountId).getSaldo());
+    }
+
+    @GetMapping("/{accountId}/balance/daily")
+    @SqlBudget(4)
+    public ResponseEntity<List<DailyBalanceDTO>> getDailyBalances(
+            @PathVariable Long accountId,
+            @RequestParam LocalDate start,
+            @RequestParam LocalDate end) {
+
+        return ResponseEntity.ok(balanceSnapshotService.getDailyBalances(accountId, start, end));
     }
 
     @PutMapping("/{accountId}/deposit")
+    @SqlBudget(6)
     public ResponseEntity<AccountResponseDTO> deposit(@PathVariable Long accountId, @RequestBody @Valid DepositDTO depositDTO) {
-        var account = accountService.deposit(accountId, depositDTO.getAmount());
-        AccountResponseDTO responseDTO = AccountMapper.mapToAccountResponseDTO(account);
+        AccountResponseDTO responseDTO = accountCommandExecutor.deposit(accountId, depositDTO.getAmount());
         return ResponseEntity.ok(responseDTO);
     }
 
     @PutMapping("/{accountId}/withdraw")
+    @SqlBudget(9)
     public ResponseEntity<AccountResponseDTO> withdraw(@PathVariable Long accountId, @RequestBody @Valid WithdrawalDTO withdrawalDTO) {
-        var account = accountService.withdraw(accountId, withdrawalDTO.getAmount());
-        AccountResponseDTO responseDTO = AccountMapper.mapToAccountResponseDTO(account);
+        AccountResponseDTO responseDTO = accountCommandExecutor.withdraw(accountId, withdrawalDTO.getAmount());
         return ResponseEntity.ok(responseDTO);
     }
 
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<TransactionBatchResponseDTO> importTransactions(@RequestBody @Valid TransactionBatchDTO transactionBatchDTO) {
+        return ResponseEntity.ok(transactionBatchService.importar(transactionBatchDTO.getMovimentacoes()));
+    }
+
     @GetMapping("/{accountId}/transactions")
+    @SqlBudget(2)
     public ResponseEntity<List<TransactionDTO>> getTransactionsByPeriod(
             @PathVariable Long accountId,
             @RequestParam LocalDateTime start,
             @RequestParam LocalDateTime end) {
 
-        if (start.isAfter(end)) {
-            throw new IllegalArgumentException("A data de início não pode ser posterior à data de término.");
-        }
+        validarPeriodo(start, end);
 
         List<TransactionDTO> transactions = accountService.getTransactionsByPeriod(accountId, start, end);
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/{accountId}/transactions/page")
+    @SqlBudget(2)
+    public ResponseEntity<TransactionPageDTO> getTransactionPage(
+            @PathVariable Long accountId,
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+
+        validarPeriodo(start, end);
+
+        if (size < 1 || size > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+
+        return ResponseEntity.ok(accountService.getTransactionPage(accountId, start, end, cursor, size));
+    }
+
+    @GetMapping(value = "/{accountId}/transactions/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamTransactions(
+            @PathVariable Long accountId,
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end) {
+
+        validarPeriodo(start, end);
+        accountService.ensureExists(accountId);
+
+        StreamingResponseBody body = outputStream -> accountService.streamTransactionsByPeriod(accountId, start, end, transaction -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(transaction));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private void validarPeriodo(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("A data de início não pode ser posterior à data de término.");
+        }
+    }
+
     @PostMapping("/{accountId}/block")
+    @SqlBudget(2)
     public ResponseEntity<Void> blockAccount(@PathVariable Long accountId) {
         accountService.blockAccount(accountId);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{accountId}/unblock")
+    @SqlBudget(2)
     public ResponseEntity<Void> unblockAccount(@PathVariable Long accountId) {
         accountService.unblockAccount(accountId);
         return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{accountId}")
+    @SqlBudget(4)
     public ResponseEntity<Void> deleteAccount(@PathVariable Long accountId) {
         accountService.deleteAccount(accountId);
         return ResponseEntity.noContent().build();
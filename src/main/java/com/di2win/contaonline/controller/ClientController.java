@@ -1,8 +1,11 @@
 package com.di2win.contaonline.controller;
 
+import com.di2win.contaonline.dto.ClientAccountSummaryDTO;
 import com.di2win.contaonline.dto.ClientCreationDTO;
+import com.di2win.contaonline.dto.ClientPortfolioDTO;
 import com.di2win.contaonline.dto.ClientResponseDTO;
 import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.metrics.SqlBudget;
 import com.di2win.contaonline.service.ClientService;
 import com.di2win.contaonline.util.ClientMapper;
 import jakarta.validation.Valid;
@@ -11,6 +14,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/clients")
 public class ClientController {
@@ -25,6 +30,17 @@ public class ClientController {
         return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
     }
 
+    @GetMapping("/{id}")
+    @SqlBudget(3)
+    public ResponseEntity<ClientPortfolioDTO> getClient(@PathVariable Long id) {
+        return ResponseEntity.ok(clientService.getPortfolio(id));
+    }
+
+    @GetMapping("/{id}/accounts")
+    @SqlBudget(3)
+    public ResponseEntity<List<ClientAccountSummaryDTO>> getClientAccounts(@PathVariable Long id) {
+        return ResponseEntity.ok(clientService.getAccounts(id));
+    }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
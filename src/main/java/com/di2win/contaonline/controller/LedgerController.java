@@ -0,0 +1,26 @@
+package com.di2win.contaonline.controller;
+
+import com.di2win.contaonline.dto.LedgerVerificationDTO;
+import com.di2win.contaonline.service.LedgerVerificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    @Autowired
+    private LedgerVerificationService ledgerVerificationService;
+
+    @GetMapping("/verification")
+    public ResponseEntity<LedgerVerificationDTO> getLastVerification() {
+        LedgerVerificationDTO relatorio = ledgerVerificationService.getUltimoRelatorio();
+        return relatorio != null ? ResponseEntity.ok(relatorio) : ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/verification")
+    public ResponseEntity<LedgerVerificationDTO> verify() {
+        return ResponseEntity.ok(ledgerVerificationService.verificar());
+    }
+}
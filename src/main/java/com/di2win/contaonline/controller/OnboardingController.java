@@ -0,0 +1,43 @@
+package com.di2win.contaonline.controller;
+
+import com.di2win.contaonline.dto.OnboardingJobDTO;
+import com.di2win.contaonline.service.OnboardingJob;
+import com.di2win.contaonline.service.OnboardingService;
+import com.di2win.contaonline.util.OnboardingJobMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/onboarding")
+public class OnboardingController {
+
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private OnboardingService onboardingService;
+
+    @PostMapping(consumes = {CSV, NDJSON})
+    public ResponseEntity<OnboardingJobDTO> startOnboarding(InputStream arquivo,
+                                                            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        OnboardingService.Formato formato = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? OnboardingService.Formato.CSV
+                : OnboardingService.Formato.NDJSON;
+
+        OnboardingJob job = onboardingService.submit(arquivo, formato);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/onboarding/" + job.getId()))
+                .body(OnboardingJobMapper.mapToOnboardingJobDTO(job));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<OnboardingJobDTO> getOnboardingJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(OnboardingJobMapper.mapToOnboardingJobDTO(onboardingService.getJob(jobId)));
+    }
+}
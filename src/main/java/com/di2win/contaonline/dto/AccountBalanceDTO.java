@@ -0,0 +1,17 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceDTO {
+
+    private Long id;
+    private BigDecimal saldo;
+    private boolean bloqueada;
+}
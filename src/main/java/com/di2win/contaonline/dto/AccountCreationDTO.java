@@ -8,7 +8,7 @@ import lombok.Data;
 public class AccountCreationDTO {
 
     @NotNull(message = "O CPF é obrigatório")
-    @Pattern(regexp = "\\d{11}", message = "O CPF deve conter 11 dígitos")
+    @Pattern(regexp = "\\s*(\\d{11}|\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2})\\s*", message = "O CPF deve conter 11 dígitos")
     private String cpf;
 
 }
@@ -0,0 +1,18 @@
+package com.di2win.contaonline.dto;
+
+import com.di2win.contaonline.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountMovementTotalDTO {
+
+    private Long contaId;
+    private TransactionType tipo;
+    private BigDecimal total;
+}
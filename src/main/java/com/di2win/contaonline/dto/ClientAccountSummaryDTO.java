@@ -0,0 +1,22 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientAccountSummaryDTO {
+
+    private Long id;
+    private String numeroConta;
+    private String agencia;
+    private BigDecimal saldo;
+    private boolean bloqueada;
+    private BigDecimal limiteDiarioSaque;
+    private BigDecimal depositosUltimos30Dias;
+    private BigDecimal saquesUltimos30Dias;
+}
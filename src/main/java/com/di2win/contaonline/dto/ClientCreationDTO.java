@@ -11,7 +11,7 @@ import java.time.LocalDate;
 public class ClientCreationDTO {
 
     @NotNull(message = "O CPF é obrigatório")
-    @Pattern(regexp = "\\d{11}", message = "O CPF deve conter 11 dígitos")
+    @Pattern(regexp = "\\s*(\\d{11}|\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2})\\s*", message = "O CPF deve conter 11 dígitos")
     private String cpf;
 
     @NotBlank(message = "O nome é obrigatório")
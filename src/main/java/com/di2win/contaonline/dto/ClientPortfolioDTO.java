@@ -0,0 +1,16 @@
+package com.di2win.contaonline.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class ClientPortfolioDTO {
+
+    private Long id;
+    private String cpf;
+    private String nome;
+    private LocalDate dataNascimento;
+    private List<ClientAccountSummaryDTO> contas;
+}
@@ -0,0 +1,19 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBalanceDTO {
+
+    private LocalDate data;
+    private BigDecimal saldoFinal;
+    private BigDecimal totalDepositos;
+    private BigDecimal totalSaques;
+}
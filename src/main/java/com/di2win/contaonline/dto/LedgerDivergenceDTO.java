@@ -0,0 +1,19 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerDivergenceDTO {
+
+    private Long contaId;
+    private Long sequencia;
+    private BigDecimal saldoEsperado;
+    private BigDecimal saldoRegistrado;
+    private String motivo;
+}
@@ -0,0 +1,20 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerVerificationDTO {
+
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+    private long contasVerificadas;
+    private long lancamentosVerificados;
+    private List<LedgerDivergenceDTO> divergencias;
+}
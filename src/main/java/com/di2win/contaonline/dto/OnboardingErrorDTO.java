@@ -0,0 +1,15 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OnboardingErrorDTO {
+
+    private int linha;
+    private String cpf;
+    private String motivo;
+}
@@ -0,0 +1,20 @@
+package com.di2win.contaonline.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class OnboardingJobDTO {
+
+    private String id;
+    private String status;
+    private int totalLinhas;
+    private int linhasProcessadas;
+    private int contasAbertas;
+    private int linhasComErro;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+    private List<OnboardingErrorDTO> erros;
+}
@@ -0,0 +1,18 @@
+package com.di2win.contaonline.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchDTO {
+
+    @NotEmpty(message = "O lote deve ter ao menos uma movimentação.")
+    private List<@Valid TransactionBatchItemDTO> movimentacoes;
+}
@@ -0,0 +1,24 @@
+package com.di2win.contaonline.dto;
+
+import com.di2win.contaonline.entity.TransactionType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchItemDTO {
+
+    @NotNull(message = "O id da conta é obrigatório.")
+    private Long accountId;
+
+    @NotNull(message = "O tipo da movimentação é obrigatório.")
+    private TransactionType tipo;
+
+    @NotNull(message = "O valor da movimentação é obrigatório.")
+    private BigDecimal valor;
+}
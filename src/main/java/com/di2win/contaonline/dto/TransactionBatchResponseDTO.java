@@ -0,0 +1,17 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResponseDTO {
+
+    private int aplicadas;
+    private int recusadas;
+    private List<TransactionBatchResultDTO> resultados;
+}
@@ -0,0 +1,19 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResultDTO {
+
+    private int indice;
+    private Long accountId;
+    private boolean sucesso;
+    private BigDecimal saldo;
+    private String erro;
+}
@@ -1,14 +1,24 @@
 package com.di2win.contaonline.dto;
 
+import com.di2win.contaonline.entity.TransactionType;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class TransactionDTO {
     private Long id;
     private BigDecimal valor;
     private String tipo;
     private LocalDateTime dataHora;
+
+    public TransactionDTO(Long id, BigDecimal valor, TransactionType tipo, LocalDateTime dataHora) {
+        this.id = id;
+        this.valor = valor;
+        this.tipo = tipo.toString();
+        this.dataHora = dataHora;
+    }
 }
@@ -0,0 +1,20 @@
+package com.di2win.contaonline.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDTO {
+
+    private List<TransactionDTO> transacoes;
+
+    /**
+     * Cursor da próxima página, ou {@code null} quando não há mais transações no período.
+     */
+    private String next;
+}
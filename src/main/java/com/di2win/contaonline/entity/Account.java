@@ -2,18 +2,29 @@ package com.di2win.contaonline.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "contas")
-@Data
+@NamedEntityGraph(name = Account.GRAFO_CLIENTE, attributeNodes = @NamedAttributeNode("cliente"))
+@Getter
+@Setter
+@ToString
 public class Account {
 
+    /**
+     * Conta com o cliente, para as respostas que o incluem (AccountMapper).
+     */
+    public static final String GRAFO_CLIENTE = "Account.cliente";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contas_seq")
+    @SequenceGenerator(name = "contas_seq", sequenceName = "contas_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -31,12 +42,34 @@ public class Account {
     @Column(nullable = false)
     private boolean bloqueada;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false)
+    @ToString.Exclude
     private Client cliente;
 
     @OneToMany(mappedBy = "conta", cascade = CascadeType.ALL, orphanRemoval = false)
     @JsonManagedReference
+    @ToString.Exclude
     private List<Transaction> transactions = new ArrayList<>();
 
+    /**
+     * Igualdade pelo id, sem percorrer cliente e transações. Os métodos são finais para que, num
+     * proxy lazy, rodem no próprio proxy: o id vem do getter sem inicializá-lo. Uma conta sem id só é
+     * igual a si mesma, e o hash muda quando ela é persistida; não a coloque em conjuntos antes disso.
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Account outro)) {
+            return false;
+        }
+        return getId() != null && getId().equals(outro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return getId() != null ? getId().hashCode() : System.identityHashCode(this);
+    }
 }
@@ -0,0 +1,23 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "saldos_consolidados")
+@Data
+public class ConsolidatedBalance {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Column(nullable = false)
+    private BigDecimal saldoFinal;
+}
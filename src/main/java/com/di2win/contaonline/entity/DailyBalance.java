@@ -0,0 +1,33 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "saldos_diarios", uniqueConstraints = @UniqueConstraint(columnNames = {"conta_id", "data"}))
+@Data
+public class DailyBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saldos_diarios_seq")
+    @SequenceGenerator(name = "saldos_diarios_seq", sequenceName = "saldos_diarios_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Column(nullable = false)
+    private BigDecimal saldoFinal = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private BigDecimal totalDepositos = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private BigDecimal totalSaques = BigDecimal.ZERO;
+}
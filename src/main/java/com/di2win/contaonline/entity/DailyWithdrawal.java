@@ -0,0 +1,26 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "saques_diarios", uniqueConstraints = @UniqueConstraint(columnNames = {"conta_id", "data"}))
+@Data
+public class DailyWithdrawal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false)
+    private Long contaId;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Column(nullable = false)
+    private BigDecimal total = BigDecimal.ZERO;
+}
@@ -0,0 +1,26 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "lancamentos_checkpoints")
+@Data
+public class LedgerCheckpoint {
+
+    @Id
+    @Column(name = "conta_id")
+    private Long contaId;
+
+    @Column(nullable = false)
+    private Long sequencia;
+
+    @Column(nullable = false)
+    private BigDecimal saldo;
+
+    @Column(nullable = false)
+    private LocalDateTime verificadoEm;
+}
@@ -0,0 +1,55 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "lancamentos")
+@Data
+public class LedgerEntry {
+
+    public static final String CONTRAPARTIDA_CAIXA = "CAIXA";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamentos_seq")
+    @SequenceGenerator(name = "lancamentos_seq", sequenceName = "lancamentos_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false, updatable = false)
+    private Long contaId;
+
+    @Column(nullable = false, updatable = false)
+    private Long sequencia;
+
+    @Column(nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionType tipo;
+
+    @Column(nullable = false, updatable = false)
+    private String contrapartida = CONTRAPARTIDA_CAIXA;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal valor;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal saldo;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal saquesDia;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime dataHora;
+
+    @Column(name = "transacao_id", nullable = false, updatable = false)
+    private Long transacaoId;
+
+    /**
+     * Valor com o sinal do efeito no saldo: positivo para depósitos, negativo para saques.
+     */
+    public BigDecimal getValorComSinal() {
+        return tipo == TransactionType.DEPOSITO ? valor : valor.negate();
+    }
+}
@@ -0,0 +1,47 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "eventos_saida")
+@Data
+public class OutboxEvent {
+
+    /**
+     * Sem blocos de ids: cada evento tira o seu da sequência sob o bloqueio da conta, para os ids de
+     * uma conta seguirem a ordem de commit entre instâncias.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_saida_seq")
+    @SequenceGenerator(name = "eventos_saida_seq", sequenceName = "eventos_saida_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "conta_id", nullable = false, updatable = false)
+    private Long contaId;
+
+    @Column(name = "transacao_id", nullable = false, updatable = false)
+    private Long transacaoId;
+
+    @Column(nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionType tipo;
+
+    @Column(nullable = false, updatable = false)
+    private BigDecimal valor;
+
+    /**
+     * Saldo da conta logo depois da movimentação.
+     */
+    @Column(nullable = false, updatable = false)
+    private BigDecimal saldo;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime dataHora;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime criadoEm;
+}
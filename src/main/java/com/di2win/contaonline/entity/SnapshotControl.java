@@ -0,0 +1,18 @@
+package com.di2win.contaonline.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "snapshots_controle")
+@Data
+public class SnapshotControl {
+
+    @Id
+    private String nome;
+
+    @Column(nullable = false)
+    private LocalDateTime processadoAte;
+}
@@ -2,17 +2,22 @@ package com.di2win.contaonline.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transacoes")
-@Data
+@Getter
+@Setter
+@ToString
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transacoes_seq")
+    @SequenceGenerator(name = "transacoes_seq", sequenceName = "transacoes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -25,13 +30,35 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionType tipo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conta_id", nullable = false)
     @JsonBackReference
+    @ToString.Exclude
     private Account conta;
 
     @PrePersist
     protected void onCreate() {
-        this.dataHora = LocalDateTime.now();
+        if (this.dataHora == null) {
+            this.dataHora = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Mesma regra de {@link Account#equals}: só o id participa.
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Transaction outro)) {
+            return false;
+        }
+        return getId() != null && getId().equals(outro.getId());
+    }
+
+    @Override
+    public final int hashCode() {
+        return getId() != null ? getId().hashCode() : System.identityHashCode(this);
     }
 }
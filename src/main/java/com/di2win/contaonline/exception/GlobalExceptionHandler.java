@@ -2,6 +2,7 @@ package com.di2win.contaonline.exception;
 
 import com.di2win.contaonline.exception.account.AccountBlockedException;
 import com.di2win.contaonline.exception.account.AccountNotFoundException;
+import com.di2win.contaonline.exception.account.ConcurrentMovementException;
 import com.di2win.contaonline.exception.account.InsufficientBalanceException;
 import com.di2win.contaonline.exception.account.WithdrawalLimitExceededException;
 import com.di2win.contaonline.exception.client.ClientNotFoundException;
@@ -10,8 +11,12 @@ import com.di2win.contaonline.exception.client.InvalidNameException;
 import com.di2win.contaonline.exception.cpf.CpfAlreadyExistsException;
 import com.di2win.contaonline.exception.cpf.CpfInvalidException;
 import com.di2win.contaonline.exception.cpf.InvalidCpfFormatException;
+import com.di2win.contaonline.exception.onboarding.OnboardingFileTooLargeException;
+import com.di2win.contaonline.exception.onboarding.OnboardingJobNotFoundException;
+import com.di2win.contaonline.exception.onboarding.OnboardingQueueFullException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -53,11 +58,31 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConcurrentMovementException.class)
+    public ResponseEntity<String> handleConcurrentMovementException(ConcurrentMovementException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<String> handleAccountNotFoundException(AccountNotFoundException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(OnboardingJobNotFoundException.class)
+    public ResponseEntity<String> handleOnboardingJobNotFoundException(OnboardingJobNotFoundException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(OnboardingFileTooLargeException.class)
+    public ResponseEntity<String> handleOnboardingFileTooLargeException(OnboardingFileTooLargeException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(OnboardingQueueFullException.class)
+    public ResponseEntity<String> handleOnboardingQueueFullException(OnboardingQueueFullException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(AccountBlockedException.class)
     public ResponseEntity<String> handleAccountBlockedException(AccountBlockedException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.FORBIDDEN);
@@ -73,6 +98,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -82,6 +112,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Nenhuma conexão livre no pool dentro do connection-timeout: a requisição é recusada em vez
+     * de esperar indefinidamente.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<String> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        return new ResponseEntity<>("Serviço temporariamente indisponível. Tente novamente.", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
         return new ResponseEntity<>("Um erro inesperado ocorreu", HttpStatus.INTERNAL_SERVER_ERROR);
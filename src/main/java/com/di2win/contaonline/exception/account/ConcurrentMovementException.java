@@ -0,0 +1,7 @@
+package com.di2win.contaonline.exception.account;
+
+public class ConcurrentMovementException extends RuntimeException {
+    public ConcurrentMovementException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
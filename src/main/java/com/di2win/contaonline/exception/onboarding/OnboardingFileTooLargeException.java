@@ -0,0 +1,7 @@
+package com.di2win.contaonline.exception.onboarding;
+
+public class OnboardingFileTooLargeException extends RuntimeException {
+    public OnboardingFileTooLargeException(String message) {
+        super(message);
+    }
+}
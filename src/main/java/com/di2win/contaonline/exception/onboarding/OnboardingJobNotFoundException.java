@@ -0,0 +1,7 @@
+package com.di2win.contaonline.exception.onboarding;
+
+public class OnboardingJobNotFoundException extends RuntimeException {
+    public OnboardingJobNotFoundException(String message) {
+        super(message);
+    }
+}
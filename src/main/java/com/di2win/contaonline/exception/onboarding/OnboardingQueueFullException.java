@@ -0,0 +1,7 @@
+package com.di2win.contaonline.exception.onboarding;
+
+public class OnboardingQueueFullException extends RuntimeException {
+    public OnboardingQueueFullException(String message) {
+        super(message);
+    }
+}
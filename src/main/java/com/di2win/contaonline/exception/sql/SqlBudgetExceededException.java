@@ -0,0 +1,7 @@
+package com.di2win.contaonline.exception.sql;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
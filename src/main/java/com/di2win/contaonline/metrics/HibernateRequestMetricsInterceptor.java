@@ -0,0 +1,64 @@
+package com.di2win.contaonline.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Registra, por requisição da API, quantos comandos SQL, entidades carregadas e coleções buscadas
+ * ela gerou, no resumo {@code contaonline.hibernate.requisicao} (tags tipo, method e uri). Um
+ * endpoint cujo número de consultas cresce com o tamanho da resposta indica carregamento N+1.
+ * A contagem inclui a serialização da resposta, já que termina em afterCompletion.
+ */
+@Component
+public class HibernateRequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String RESUMO = "contaonline.hibernate.requisicao";
+
+    private static final String[] TIPOS = {"consultas", "entidades", "colecoes"};
+
+    // opcional: testes de fatia do MVC sobem o interceptor sem registro de métricas
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long[] contagens = RequestStatistics.encerrar();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (contagens == null || registry == null) {
+            return;
+        }
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        for (int tipo = 0; tipo < TIPOS.length; tipo++) {
+            DistributionSummary.builder(RESUMO)
+                    .description("Comandos SQL, entidades carregadas e coleções buscadas por requisição")
+                    .tag("tipo", TIPOS[tipo])
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(contagens[tipo]);
+        }
+    }
+
+    /**
+     * Respostas assíncronas (streaming do extrato) continuam em outra thread; a contagem da thread
+     * da requisição é descartada.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.encerrar();
+    }
+}
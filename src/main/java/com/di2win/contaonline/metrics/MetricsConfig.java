@@ -0,0 +1,31 @@
+package com.di2win.contaonline.metrics;
+
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private HibernateRequestMetricsInterceptor hibernateRequestMetricsInterceptor;
+
+    /**
+     * Troca a implementação de estatísticas do Hibernate pela que também conta por requisição.
+     * Só tem efeito com hibernate.generate_statistics ligado.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        return properties -> properties.put("hibernate.stats.factory",
+                (StatisticsFactory) RequestStatistics::new);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(hibernateRequestMetricsInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,93 @@
+package com.di2win.contaonline.metrics;
+
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.service.AccountMovement;
+import com.di2win.contaonline.service.MovementResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada operação pública de AccountService e ClientService, e os depósitos e saques do
+ * LedgerService (API no modo livro-razão), no timer {@code contaonline.operacoes}, com as tags
+ * servico, operacao e resultado ("sucesso" ou o nome simples da exceção lançada, como
+ * InsufficientBalanceException). O aspecto envolve a transação, então o tempo inclui o commit e as
+ * falhas dele.
+ *
+ * applyMovements (lanes e importação em lote, nos dois modos) devolve as recusas de negócio em
+ * {@link MovementResult} em vez de lançá-las; cada movimentação do grupo vira uma amostra com a
+ * operacao deposit ou withdraw, o resultado dela e a parte igual do tempo do grupo. Só a falha do
+ * grupo inteiro fica registrada como operacao applyMovements.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OperationMetricsAspect {
+
+    static final String TIMER = "contaonline.operacoes";
+
+    private static final String SUCESSO = "sucesso";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.di2win.contaonline.service.AccountService.*(..)) || "
+            + "execution(public * com.di2win.contaonline.service.ClientService.*(..)) || "
+            + "execution(public * com.di2win.contaonline.service.LedgerService.deposit(..)) || "
+            + "execution(public * com.di2win.contaonline.service.LedgerService.withdraw(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        String servico = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String operacao = joinPoint.getSignature().getName();
+        long inicio = System.nanoTime();
+        String resultado = SUCESSO;
+        try {
+            Object retorno = joinPoint.proceed();
+            if (operacao.equals("applyMovements")) {
+                registrarMovimentacoes(servico, joinPoint.getArgs()[1], retorno, System.nanoTime() - inicio);
+                resultado = null;
+            }
+            return retorno;
+        } catch (Throwable e) {
+            resultado = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            if (resultado != null) {
+                timer(servico, operacao, resultado).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void registrarMovimentacoes(String servico, Object movimentacoes, Object resultados, long duracao) {
+        List<?> movements = (List<?>) movimentacoes;
+        List<?> results = (List<?>) resultados;
+        if (results.isEmpty()) {
+            return;
+        }
+        long porMovimentacao = duracao / results.size();
+        for (int i = 0; i < results.size(); i++) {
+            AccountMovement movement = (AccountMovement) movements.get(i);
+            MovementResult result = (MovementResult) results.get(i);
+            String operacao = movement.getTipo() == TransactionType.SAQUE ? "withdraw" : "deposit";
+            String resultado = result.isSucesso() ? SUCESSO : result.getErro().getClass().getSimpleName();
+            timer(servico, operacao, resultado).record(porMovimentacao, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String servico, String operacao, String resultado) {
+        return Timer.builder(TIMER)
+                .description("Duração das operações de conta e cliente")
+                .tag("servico", servico)
+                .tag("operacao", operacao)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
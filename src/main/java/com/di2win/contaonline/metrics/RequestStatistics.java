@@ -0,0 +1,63 @@
+package com.di2win.contaonline.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Estatísticas do Hibernate que, além dos totais globais, contam por thread os comandos SQL, as
+ * entidades carregadas e as coleções buscadas entre {@link #iniciar()} e {@link #encerrar()}.
+ * Fora desse intervalo (jobs agendados, lanes) só os totais globais são atualizados.
+ *
+ * {@link StatisticsImpl} é interna do Hibernate: ao atualizá-lo, o RequestStatisticsTest confere
+ * que os métodos sobrescritos continuam sendo chamados.
+ */
+public class RequestStatistics extends StatisticsImpl {
+
+    static final int CONSULTAS = 0;
+    static final int ENTIDADES = 1;
+    static final int COLECOES = 2;
+
+    private static final ThreadLocal<long[]> contagens = new ThreadLocal<>();
+
+    public RequestStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    static void iniciar() {
+        contagens.set(new long[3]);
+    }
+
+    /**
+     * Encerra a contagem da thread atual e devolve as contagens, ou null se não foi iniciada.
+     */
+    static long[] encerrar() {
+        long[] atuais = contagens.get();
+        contagens.remove();
+        return atuais;
+    }
+
+    private static void incrementar(int tipo) {
+        long[] atuais = contagens.get();
+        if (atuais != null) {
+            atuais[tipo]++;
+        }
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        incrementar(CONSULTAS);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        incrementar(ENTIDADES);
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        incrementar(COLECOES);
+    }
+}
@@ -0,0 +1,21 @@
+package com.di2win.contaonline.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orçamento de comandos SQL de um endpoint: o máximo que uma requisição pode executar. Acima dele
+ * o {@link SqlMetricsFilter} registra um aviso e, com {@code contaonline.sql.orcamento.falhar=true}
+ * (ligado no perfil de testes), falha a requisição. Não vale para depósitos e saques executados
+ * pelas lanes ({@code contaonline.lanes.enabled=true}), cujo SQL roda fora da thread da requisição.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int value();
+}
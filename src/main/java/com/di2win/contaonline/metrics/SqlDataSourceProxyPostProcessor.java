@@ -0,0 +1,34 @@
+package com.di2win.contaonline.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envolve o DataSource da aplicação no datasource-proxy, com o {@link SqlMetricsListener} e os
+ * ResultSets instrumentados para contar as linhas lidas. O pool continua acessível por unwrap,
+ * então as métricas do Hikari não mudam.
+ */
+@Component
+public class SqlDataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    @Value("${contaonline.sql.lenta.limite:200ms}")
+    private Duration limiteConsultaLenta;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new SqlMetricsListener(limiteConsultaLenta))
+                    .proxyResultSet()
+                    .build();
+        }
+        return bean;
+    }
+}
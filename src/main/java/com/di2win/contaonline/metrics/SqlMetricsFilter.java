@@ -0,0 +1,101 @@
+package com.di2win.contaonline.metrics;
+
+import com.di2win.contaonline.exception.sql.SqlBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o SQL de cada requisição da API (comandos, linhas e tempo no banco) e confere o
+ * {@link SqlBudget} declarado no endpoint. Respostas assíncronas só têm medida a parte executada
+ * na thread da requisição e não são conferidas. Requisições que entregam a escrita às lanes
+ * ({@link SqlStatistics#delegar()}) não são medidas nem conferidas: o SQL roda em outra thread,
+ * agrupado com o de outras requisições.
+ */
+@Slf4j
+@Component
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    // opcional: testes de fatia do MVC sobem o filtro sem registro de métricas
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${contaonline.sql.orcamento.falhar:false}")
+    private boolean falharAcimaDoOrcamento;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatistics.encerrar();
+        }
+        if (isAsyncStarted(request) || statistics.delegada) {
+            return;
+        }
+
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+        registrar(request.getMethod(), uri, statistics);
+
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            SqlBudget orcamento = handlerMethod.getMethodAnnotation(SqlBudget.class);
+            if (orcamento != null && statistics.comandos > orcamento.value()) {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null) {
+                    registry.counter("contaonline.sql.orcamento.excedido", "method", request.getMethod(), "uri", uri).increment();
+                }
+                String mensagem = String.format("%s %s executou %d comandos SQL, acima do orçamento de %d",
+                        request.getMethod(), uri, statistics.comandos, orcamento.value());
+                if (falharAcimaDoOrcamento) {
+                    throw new SqlBudgetExceededException(mensagem);
+                }
+                log.warn(mensagem);
+            }
+        }
+    }
+
+    private void registrar(String method, String uri, SqlStatistics statistics) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        DistributionSummary.builder("contaonline.sql.requisicao.comandos")
+                .description("Comandos SQL executados por requisição")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(statistics.comandos);
+        DistributionSummary.builder("contaonline.sql.requisicao.linhas")
+                .description("Linhas lidas ou alteradas por requisição")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(statistics.linhas);
+        Timer.builder("contaonline.sql.requisicao.tempo")
+                .description("Tempo gasto no banco por requisição")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(statistics.nanos, TimeUnit.NANOSECONDS);
+    }
+}
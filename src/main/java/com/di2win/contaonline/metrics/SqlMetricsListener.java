@@ -0,0 +1,89 @@
+package com.di2win.contaonline.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.lifecycle.JdbcLifecycleEventListenerAdapter;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ouvinte do datasource-proxy: soma comandos, linhas e tempo no {@link SqlStatistics} da thread e
+ * registra no log as consultas que passam do limite, com os parâmetros. O log é escrito por uma
+ * thread própria; se ela ficar para trás, as entradas excedentes são descartadas em vez de segurar
+ * a conexão de quem executou a consulta.
+ */
+@Slf4j
+class SqlMetricsListener extends JdbcLifecycleEventListenerAdapter {
+
+    private static final String INICIO = "contaonline.inicio";
+
+    private final long limiteNanos;
+    private final DefaultQueryLogEntryCreator formatador = new DefaultQueryLogEntryCreator();
+    private final ThreadPoolExecutor escritor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1000),
+            tarefa -> {
+                Thread thread = new Thread(tarefa, "sql-lenta");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    SqlMetricsListener(Duration limite) {
+        this.limiteNanos = limite.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - execInfo.getCustomValue(INICIO, Long.class);
+        SqlStatistics statistics = SqlStatistics.atual();
+        if (statistics != null) {
+            statistics.comandos += execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size();
+            statistics.linhas += linhasAlteradas(execInfo.getResult());
+            statistics.nanos += nanos;
+        }
+        if (nanos >= limiteNanos) {
+            String consulta = formatador.getLogEntry(execInfo, queryInfoList, false, false, false);
+            escritor.execute(() -> log.warn("Consulta lenta ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(nanos), consulta));
+        }
+    }
+
+    @Override
+    public void afterNext(MethodExecutionContext executionContext) {
+        SqlStatistics statistics = SqlStatistics.atual();
+        if (statistics != null && Boolean.TRUE.equals(executionContext.getResult())) {
+            statistics.linhas++;
+        }
+    }
+
+    private static long linhasAlteradas(Object resultado) {
+        if (resultado instanceof Integer linhas) {
+            return Math.max(0, linhas);
+        }
+        if (resultado instanceof Long linhas) {
+            return Math.max(0, linhas);
+        }
+        long total = 0;
+        if (resultado instanceof int[] lote) {
+            for (int linhas : lote) {
+                total += Math.max(0, linhas);
+            }
+        } else if (resultado instanceof long[] lote) {
+            for (long linhas : lote) {
+                total += Math.max(0, linhas);
+            }
+        }
+        return total;
+    }
+}
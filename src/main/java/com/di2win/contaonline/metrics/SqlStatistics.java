@@ -0,0 +1,45 @@
+package com.di2win.contaonline.metrics;
+
+/**
+ * Comandos SQL executados, linhas lidas ou alteradas e tempo gasto no banco pela thread atual
+ * entre {@link #iniciar()} e {@link #encerrar()}.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> atual = new ThreadLocal<>();
+
+    long comandos;
+    long linhas;
+    long nanos;
+    boolean delegada;
+
+    private SqlStatistics() {}
+
+    static SqlStatistics iniciar() {
+        SqlStatistics statistics = new SqlStatistics();
+        atual.set(statistics);
+        return statistics;
+    }
+
+    static void encerrar() {
+        atual.remove();
+    }
+
+    /**
+     * Contagem da thread atual, ou null fora de uma requisição.
+     */
+    static SqlStatistics atual() {
+        return atual.get();
+    }
+
+    /**
+     * Marca que a requisição atual entregou seu SQL para outra thread (as lanes), onde a contagem
+     * não chega. A requisição fica sem métricas de SQL e sem conferência de {@link SqlBudget}.
+     */
+    public static void delegar() {
+        SqlStatistics statistics = atual.get();
+        if (statistics != null) {
+            statistics.delegada = true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Log local em NDJSON, um evento por linha, acrescentado ao fim do arquivo. Cada lote é forçado
+ * para o disco antes de confirmado, então um evento removido do outbox já está no arquivo.
+ */
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    @Value("${contaonline.outbox.arquivo.enabled:false}")
+    private boolean enabled;
+
+    @Value("${contaonline.outbox.arquivo.caminho:eventos-saida.ndjson}")
+    private Path caminho;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private FileChannel canal;
+
+    @Override
+    public String getNome() {
+        return "arquivo";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public synchronized void publicar(List<OutboxEvent> eventos) {
+        StringBuilder linhas = new StringBuilder();
+        try {
+            for (OutboxEvent evento : eventos) {
+                linhas.append(objectMapper.writeValueAsString(evento)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento de saída.", e);
+        }
+
+        try {
+            if (canal == null) {
+                canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(false);
+        } catch (IOException e) {
+            fechar();
+            throw new UncheckedIOException("Falha ao gravar eventos em " + caminho, e);
+        }
+    }
+
+    @PreDestroy
+    synchronized void fechar() {
+        if (canal == null) {
+            return;
+        }
+        try {
+            canal.close();
+        } catch (IOException ignored) {
+            // o canal é reaberto no próximo lote
+        }
+        canal = null;
+    }
+}
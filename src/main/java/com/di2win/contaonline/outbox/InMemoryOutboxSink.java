@@ -0,0 +1,54 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Fila limitada em memória para consumidores no próprio processo. Um lote só entra se couber
+ * inteiro; com a fila cheia o lote é recusado e fica no outbox até os consumidores a esvaziarem.
+ */
+@Component
+public class InMemoryOutboxSink implements OutboxSink {
+
+    @Value("${contaonline.outbox.memoria.enabled:false}")
+    private boolean enabled;
+
+    @Value("${contaonline.outbox.memoria.capacidade:10000}")
+    private int capacidade;
+
+    private BlockingQueue<OutboxEvent> fila;
+
+    @PostConstruct
+    void start() {
+        fila = new LinkedBlockingQueue<>(capacidade);
+    }
+
+    @Override
+    public String getNome() {
+        return "memoria";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BlockingQueue<OutboxEvent> getFila() {
+        return fila;
+    }
+
+    @Override
+    public void publicar(List<OutboxEvent> eventos) {
+        // o relay é o único produtor: o espaço livre não diminui entre a verificação e a inclusão
+        if (fila.remainingCapacity() < eventos.size()) {
+            throw new IllegalStateException("Fila de eventos em memória cheia.");
+        }
+        fila.addAll(eventos);
+    }
+}
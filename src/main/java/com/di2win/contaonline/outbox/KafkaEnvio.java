@@ -0,0 +1,15 @@
+package com.di2win.contaonline.outbox;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Envio de uma mensagem a um tópico do Kafka. A assinatura é a de
+ * {@code KafkaTemplate<String, String>.send(topico, chave, valor)}, então a aplicação que incluir o
+ * spring-kafka registra o adaptador com {@code @Bean KafkaEnvio kafkaEnvio(KafkaTemplate<String, String> t) { return t::send; }};
+ * nos testes, basta um stub.
+ */
+@FunctionalInterface
+public interface KafkaEnvio {
+
+    CompletableFuture<?> send(String topico, String chave, String valor);
+}
@@ -0,0 +1,80 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publica cada evento no tópico configurado com o id da conta como chave: os eventos de uma conta
+ * caem na mesma partição e mantêm a ordem, desde que o produtor seja idempotente
+ * ({@code enable.idempotence=true}). O lote é enviado de uma vez e confirmado quando todos os envios
+ * terminarem.
+ */
+@Component
+public class KafkaOutboxSink implements OutboxSink {
+
+    @Value("${contaonline.outbox.kafka.enabled:false}")
+    private boolean enabled;
+
+    @Value("${contaonline.outbox.kafka.topico:contaonline.movimentacoes}")
+    private String topico;
+
+    @Value("${contaonline.outbox.kafka.timeout:30s}")
+    private Duration timeout;
+
+    @Autowired
+    private ObjectProvider<KafkaEnvio> kafkaEnvio;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostConstruct
+    void start() {
+        if (enabled && kafkaEnvio.getIfAvailable() == null) {
+            throw new IllegalStateException("contaonline.outbox.kafka.enabled requer um bean KafkaEnvio.");
+        }
+    }
+
+    @Override
+    public String getNome() {
+        return "kafka";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void publicar(List<OutboxEvent> eventos) {
+        KafkaEnvio envio = kafkaEnvio.getObject();
+        List<CompletableFuture<?>> envios = new ArrayList<>(eventos.size());
+        try {
+            for (OutboxEvent evento : eventos) {
+                envios.add(envio.send(topico, evento.getContaId().toString(), objectMapper.writeValueAsString(evento)));
+            }
+            CompletableFuture.allOf(envios.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento de saída.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Falha ao publicar eventos no tópico " + topico, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao publicar eventos.", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+import com.di2win.contaonline.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Entrega os eventos do outbox aos destinos habilitados, em lotes na ordem dos ids, e os remove
+ * depois que todos os destinos confirmarem. Uma falha interrompe o ciclo sem remover o lote, que é
+ * entregue de novo no ciclo seguinte: a entrega é pelo menos uma vez, e o consumidor descarta
+ * repetições pelo {@code transacaoId}.
+ *
+ * Os ids dos eventos de uma conta crescem na ordem de commit, porque são tirados da sequência um a
+ * um depois do bloqueio da conta (ou, no livro-razão, depois do lançamento anterior confirmado),
+ * em qualquer instância; como um lote nunca é pulado, cada destino recebe os eventos de uma conta
+ * na ordem em que aconteceram.
+ *
+ * {@code contaonline.outbox.relay.enabled=false} desliga só a entrega, para rodar o relay em uma
+ * instância enquanto as demais continuam gravando eventos.
+ *
+ * Métricas: {@code contaonline.outbox.atraso} (idade do evento pendente mais antigo no último
+ * ciclo), {@code contaonline.outbox.entrega} (do commit até a remoção do outbox) e, por destino,
+ * {@code contaonline.outbox.publicados} e {@code contaonline.outbox.falhas}.
+ */
+@Component
+public class OutboxRelay {
+
+    public static final String ATRASO = "contaonline.outbox.atraso";
+    public static final String ENTREGA = "contaonline.outbox.entrega";
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private List<OutboxSink> sinks;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${contaonline.outbox.relay.enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${contaonline.outbox.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+    private final AtomicLong atrasoMillis = new AtomicLong();
+    private List<OutboxSink> destinos;
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        destinos = sinks.stream().filter(OutboxSink::isEnabled).toList();
+        if (outboxService.isEnabled() && relayEnabled && destinos.isEmpty()) {
+            throw new IllegalStateException("contaonline.outbox.enabled requer ao menos um destino habilitado.");
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.ifAvailable(registry -> TimeGauge.builder(ATRASO, atrasoMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Idade do evento pendente mais antigo do outbox")
+                .register(registry));
+    }
+
+    @Scheduled(fixedDelayString = "${contaonline.outbox.intervalo:200}")
+    void publicarAgendado() {
+        if (!outboxService.isEnabled() || !relayEnabled) {
+            return;
+        }
+        try {
+            publicar();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao entregar eventos do outbox; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Entrega lotes até o outbox ficar vazio e retorna quantos eventos saíram. Uma execução por vez;
+     * a chamada seguinte espera a anterior terminar.
+     */
+    public int publicar() {
+        execucao.lock();
+        try {
+            int total = 0;
+            while (true) {
+                List<OutboxEvent> lote = outboxEventRepository.findPendentes(Limit.of(tamanhoLote));
+                if (lote.isEmpty()) {
+                    atrasoMillis.set(0);
+                    return total;
+                }
+                atrasoMillis.set(Math.max(0, Duration.between(lote.get(0).getCriadoEm(), LocalDateTime.now()).toMillis()));
+
+                for (OutboxSink destino : destinos) {
+                    entregar(destino, lote);
+                }
+                List<Long> ids = lote.stream().map(OutboxEvent::getId).toList();
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(ids));
+                registrarEntrega(lote);
+
+                total += lote.size();
+                if (lote.size() < tamanhoLote) {
+                    // lote incompleto: não havia mais nada pendente quando foi lido
+                    atrasoMillis.set(0);
+                    return total;
+                }
+            }
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private void entregar(OutboxSink destino, List<OutboxEvent> lote) {
+        try {
+            destino.publicar(lote);
+        } catch (RuntimeException e) {
+            meterRegistry.ifAvailable(registry -> Counter.builder("contaonline.outbox.falhas")
+                    .tag("destino", destino.getNome())
+                    .register(registry)
+                    .increment());
+            throw e;
+        }
+        meterRegistry.ifAvailable(registry -> Counter.builder("contaonline.outbox.publicados")
+                .tag("destino", destino.getNome())
+                .register(registry)
+                .increment(lote.size()));
+    }
+
+    private void registrarEntrega(List<OutboxEvent> lote) {
+        meterRegistry.ifAvailable(registry -> {
+            Timer entrega = Timer.builder(ENTREGA)
+                    .description("Tempo entre a gravação do evento e a confirmação de todos os destinos")
+                    .register(registry);
+            LocalDateTime agora = LocalDateTime.now();
+            lote.forEach(evento -> entrega.record(Duration.between(evento.getCriadoEm(), agora)));
+        });
+    }
+}
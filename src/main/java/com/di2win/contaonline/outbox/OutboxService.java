@@ -0,0 +1,65 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+import com.di2win.contaonline.entity.Transaction;
+import com.di2win.contaonline.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava os eventos de saída das movimentações ({@code contaonline.outbox.enabled=true}). A gravação
+ * exige a transação da movimentação: o evento e a transação são confirmados ou desfeitos juntos, e o
+ * {@link OutboxRelay} só os enxerga depois do commit.
+ */
+@Component
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Value("${contaonline.outbox.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Transaction transaction, BigDecimal saldo) {
+        registrar(List.of(transaction), List.of(saldo));
+    }
+
+    /**
+     * Um evento por transação, com o saldo da conta logo depois dela ({@code saldos} na mesma ordem).
+     * As transações já devem ter id, ou seja, ter passado pelo save.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(List<Transaction> transactions, List<BigDecimal> saldos) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        List<OutboxEvent> eventos = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            OutboxEvent evento = new OutboxEvent();
+            evento.setContaId(transaction.getConta().getId());
+            evento.setTransacaoId(transaction.getId());
+            evento.setTipo(transaction.getTipo());
+            evento.setValor(transaction.getValor());
+            evento.setSaldo(saldos.get(i));
+            evento.setDataHora(transaction.getDataHora());
+            evento.setCriadoEm(agora);
+            eventos.add(evento);
+        }
+        outboxEventRepository.saveAll(eventos);
+    }
+}
@@ -0,0 +1,22 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos de saída. O {@link OutboxRelay} entrega a cada destino habilitado os lotes na
+ * ordem de gravação e só remove os eventos depois que todos confirmarem; uma exceção faz o lote ser
+ * entregue de novo no ciclo seguinte, inclusive aos destinos que já o tinham recebido.
+ */
+public interface OutboxSink {
+
+    String getNome();
+
+    boolean isEnabled();
+
+    /**
+     * Entrega o lote; deve retornar só quando os eventos estiverem de fato no destino.
+     */
+    void publicar(List<OutboxEvent> eventos);
+}
@@ -1,10 +1,26 @@
 package com.di2win.contaonline.repository;
 
+import com.di2win.contaonline.dto.AccountBalanceDTO;
+import com.di2win.contaonline.dto.ClientAccountSummaryDTO;
 import com.di2win.contaonline.entity.Account;
 import com.di2win.contaonline.entity.Client;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +29,60 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByNumeroConta(String numeroConta);
 
     Optional<Account> findByCliente(Client cliente);
+
+    boolean existsByClienteId(Long clienteId);
+
+    @Query("select a.numeroConta from Account a where a.numeroConta in :numeros")
+    List<String> findExistingNumerosConta(@Param("numeros") Collection<String> numeros);
+
+    @Query("select new com.di2win.contaonline.dto.AccountBalanceDTO(a.id, a.saldo, a.bloqueada) " +
+            "from Account a where a.id = :id")
+    Optional<AccountBalanceDTO> findBalanceById(@Param("id") Long id);
+
+    /**
+     * Carrega a conta com bloqueio de escrita na linha (SELECT ... FOR UPDATE).
+     * Deve ser chamado dentro de uma transação; movimentações concorrentes na
+     * mesma conta aguardam o commit da anterior, evitando perda de atualização do saldo.
+     * O cliente vem na mesma consulta (grafo {@link Account#GRAFO_CLIENTE}), já que a resposta das
+     * movimentações o inclui.
+     * A consulta não força flush: em lotes com várias contas, as alterações das contas anteriores
+     * seguem acumuladas até o commit e vão ao banco em lotes JDBC.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(Account.GRAFO_CLIENTE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Carrega a conta e o cliente sem bloquear a linha; usado pelo livro-razão, em que as escritas
+     * não atualizam a conta. Como em {@link #findByIdForUpdate}, a consulta não força flush.
+     */
+    @EntityGraph(Account.GRAFO_CLIENTE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findWithClienteById(@Param("id") Long id);
+
+    /**
+     * Contas do cliente com os totais de depósitos e saques desde {@code inicio}, agregados no banco
+     * em uma única consulta (join com transacoes pelo índice de conta e data), qualquer que seja o
+     * número de contas.
+     */
+    @Query("select new com.di2win.contaonline.dto.ClientAccountSummaryDTO(a.id, a.numeroConta, a.agencia, " +
+            "a.saldo, a.bloqueada, a.limiteDiarioSaque, " +
+            "coalesce(sum(case when t.tipo = com.di2win.contaonline.entity.TransactionType.DEPOSITO then t.valor end), 0), " +
+            "coalesce(sum(case when t.tipo = com.di2win.contaonline.entity.TransactionType.SAQUE then t.valor end), 0)) " +
+            "from Account a left join Transaction t on t.conta = a and t.dataHora >= :inicio " +
+            "where a.cliente.id = :clienteId " +
+            "group by a.id, a.numeroConta, a.agencia, a.saldo, a.bloqueada, a.limiteDiarioSaque " +
+            "order by a.id")
+    List<ClientAccountSummaryDTO> findSummariesByClienteId(@Param("clienteId") Long clienteId,
+                                                           @Param("inicio") LocalDateTime inicio);
+
+    @Query("select a.id from Account a where a.id > :id order by a.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Limit limit);
+
+    @Modifying
+    @Query("update Account a set a.saldo = :saldo where a.id = :id")
+    int updateSaldo(@Param("id") Long id, @Param("saldo") BigDecimal saldo);
 }
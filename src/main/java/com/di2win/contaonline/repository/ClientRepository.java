@@ -2,8 +2,12 @@ package com.di2win.contaonline.repository;
 
 import com.di2win.contaonline.entity.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,7 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     Optional<Client> findByCpf(String cpf);
 
+    @Query("select c.cpf from Client c where c.cpf in :cpfs")
+    List<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
+
 }
@@ -0,0 +1,9 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.entity.ConsolidatedBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ConsolidatedBalanceRepository extends JpaRepository<ConsolidatedBalance, Long> {
+}
@@ -0,0 +1,24 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.entity.DailyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyBalanceRepository extends JpaRepository<DailyBalance, Long> {
+
+    /**
+     * Último saldo diário da conta antes da data. A ordenação inclui conta_id para seguir o índice
+     * (conta_id, data desc) e parar na primeira linha, em vez de ordenar todo o histórico da conta.
+     */
+    Optional<DailyBalance> findFirstByContaIdAndDataLessThanOrderByContaIdAscDataDesc(Long contaId, LocalDate data);
+
+    List<DailyBalance> findByContaIdAndDataBetweenOrderByData(Long contaId, LocalDate inicio, LocalDate fim);
+
+    List<DailyBalance> findByContaIdInAndData(Collection<Long> contaIds, LocalDate data);
+}
@@ -0,0 +1,14 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.entity.DailyWithdrawal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DailyWithdrawalRepository extends JpaRepository<DailyWithdrawal, Long> {
+
+    Optional<DailyWithdrawal> findByContaIdAndData(Long contaId, LocalDate data);
+}
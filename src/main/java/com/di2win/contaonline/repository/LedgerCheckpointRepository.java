@@ -0,0 +1,9 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.entity.LedgerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerCheckpointRepository extends JpaRepository<LedgerCheckpoint, Long> {
+}
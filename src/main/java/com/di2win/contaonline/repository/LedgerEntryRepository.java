@@ -0,0 +1,40 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.dto.AccountBalanceDTO;
+import com.di2win.contaonline.entity.LedgerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * Último lançamento da conta, lido direto do índice (conta_id, sequencia desc). Não força flush:
+     * cada conta é lida uma vez por transação e os lançamentos das anteriores seguem em lote.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    Optional<LedgerEntry> findFirstByContaIdOrderByContaIdAscSequenciaDesc(Long contaId);
+
+    /**
+     * Saldo do último lançamento de cada conta do cliente, em uma consulta. Contas com transações
+     * gravadas fora do livro-razão depois do último lançamento ficam de fora: o saldo delas está
+     * em contas.saldo até o próximo lançamento.
+     */
+    @Query("select new com.di2win.contaonline.dto.AccountBalanceDTO(e.contaId, e.saldo, a.bloqueada) " +
+            "from LedgerEntry e join Account a on a.id = e.contaId " +
+            "where a.cliente.id = :clienteId " +
+            "and e.sequencia = (select max(u.sequencia) from LedgerEntry u where u.contaId = e.contaId) " +
+            "and not exists (select 1 from Transaction t where t.conta.id = e.contaId and t.dataHora > e.dataHora " +
+            "and not exists (select 1 from LedgerEntry x where x.transacaoId = t.id))")
+    List<AccountBalanceDTO> findSaldosByClienteId(@Param("clienteId") Long clienteId);
+
+    List<LedgerEntry> findByContaIdAndSequenciaGreaterThanOrderBySequencia(Long contaId, Long sequencia);
+}
@@ -0,0 +1,19 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Eventos ainda não entregues, na ordem em que foram gravados.
+     */
+    @Query("select e from OutboxEvent e order by e.id")
+    List<OutboxEvent> findPendentes(Limit limit);
+}
@@ -0,0 +1,22 @@
+package com.di2win.contaonline.repository;
+
+import com.di2win.contaonline.entity.SnapshotControl;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SnapshotControlRepository extends JpaRepository<SnapshotControl, String> {
+
+    /**
+     * Bloqueia a linha de controle; instâncias concorrentes do job consolidam uma de cada vez.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from SnapshotControl c where c.nome = :nome")
+    Optional<SnapshotControl> findByNomeForUpdate(@Param("nome") String nome);
+}
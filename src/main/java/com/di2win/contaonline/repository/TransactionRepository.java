@@ -1,12 +1,23 @@
 package com.di2win.contaonline.repository;
 
+import com.di2win.contaonline.dto.AccountMovementTotalDTO;
+import com.di2win.contaonline.dto.TransactionDTO;
 import com.di2win.contaonline.entity.Account;
 import com.di2win.contaonline.entity.Transaction;
+import com.di2win.contaonline.entity.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -16,4 +27,80 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByContaAndDataHoraBetween(Account conta, LocalDateTime start, LocalDateTime end);
 
     List<Transaction> findByConta(Account account);
+
+    boolean existsByContaId(Long contaId);
+
+    @Query("select sum(t.valor) from Transaction t " +
+            "where t.conta.id = :contaId and t.tipo = :tipo and t.dataHora between :inicio and :fim")
+    BigDecimal sumValorByContaIdAndTipoAndDataHoraBetween(@Param("contaId") Long contaId,
+                                                          @Param("tipo") TransactionType tipo,
+                                                          @Param("inicio") LocalDateTime inicio,
+                                                          @Param("fim") LocalDateTime fim);
+
+    /**
+     * Variação líquida do saldo no período (depósitos menos saques); nulo quando não há transações.
+     */
+    @Query("select sum(case when t.tipo = com.di2win.contaonline.entity.TransactionType.DEPOSITO " +
+            "then t.valor else -t.valor end) from Transaction t " +
+            "where t.conta.id = :contaId and t.dataHora between :inicio and :fim")
+    BigDecimal sumNetValorByContaIdAndDataHoraBetween(@Param("contaId") Long contaId,
+                                                      @Param("inicio") LocalDateTime inicio,
+                                                      @Param("fim") LocalDateTime fim);
+
+    /**
+     * Totais por conta e tipo das transações de todas as contas em [inicio, fim).
+     */
+    @Query("select new com.di2win.contaonline.dto.AccountMovementTotalDTO(t.conta.id, t.tipo, sum(t.valor)) " +
+            "from Transaction t where t.dataHora >= :inicio and t.dataHora < :fim " +
+            "group by t.conta.id, t.tipo")
+    List<AccountMovementTotalDTO> sumValorByContaAndTipo(@Param("inicio") LocalDateTime inicio,
+                                                         @Param("fim") LocalDateTime fim);
+
+    @Query("select min(t.dataHora) from Transaction t")
+    LocalDateTime findMinDataHora();
+
+    @Query("select new com.di2win.contaonline.dto.TransactionDTO(t.id, t.valor, t.tipo, t.dataHora) " +
+            "from Transaction t " +
+            "where t.conta.id = :contaId and t.dataHora between :inicio and :fim " +
+            "order by t.dataHora, t.id")
+    List<TransactionDTO> findByContaIdAndPeriod(@Param("contaId") Long contaId,
+                                                @Param("inicio") LocalDateTime inicio,
+                                                @Param("fim") LocalDateTime fim);
+
+    /**
+     * Página do extrato por keyset: transações do período estritamente posteriores à posição
+     * (cursorDataHora, cursorId), na ordem (dataHora, id).
+     */
+    @Query("select new com.di2win.contaonline.dto.TransactionDTO(t.id, t.valor, t.tipo, t.dataHora) " +
+            "from Transaction t " +
+            "where t.conta.id = :contaId and t.dataHora between :inicio and :fim " +
+            "and (t.dataHora > :cursorDataHora or (t.dataHora = :cursorDataHora and t.id > :cursorId)) " +
+            "order by t.dataHora, t.id")
+    List<TransactionDTO> findPageByContaIdAndPeriod(@Param("contaId") Long contaId,
+                                                    @Param("inicio") LocalDateTime inicio,
+                                                    @Param("fim") LocalDateTime fim,
+                                                    @Param("cursorDataHora") LocalDateTime cursorDataHora,
+                                                    @Param("cursorId") Long cursorId,
+                                                    Limit limit);
+
+    /**
+     * Transações da conta posteriores a dataHora que não têm lançamento no livro-razão, ou seja,
+     * gravadas com o modo desligado, na ordem em que aconteceram.
+     */
+    @Query("select new com.di2win.contaonline.dto.TransactionDTO(t.id, t.valor, t.tipo, t.dataHora) " +
+            "from Transaction t " +
+            "where t.conta.id = :contaId and t.dataHora > :dataHora " +
+            "and not exists (select 1 from LedgerEntry e where e.transacaoId = t.id) " +
+            "order by t.dataHora, t.id")
+    List<TransactionDTO> findForaDoLivroRazao(@Param("contaId") Long contaId,
+                                              @Param("dataHora") LocalDateTime dataHora);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.di2win.contaonline.dto.TransactionDTO(t.id, t.valor, t.tipo, t.dataHora) " +
+            "from Transaction t " +
+            "where t.conta.id = :contaId and t.dataHora between :inicio and :fim " +
+            "order by t.dataHora, t.id")
+    Stream<TransactionDTO> streamByContaIdAndPeriod(@Param("contaId") Long contaId,
+                                                    @Param("inicio") LocalDateTime inicio,
+                                                    @Param("fim") LocalDateTime fim);
 }
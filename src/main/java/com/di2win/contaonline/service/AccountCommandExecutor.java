@@ -0,0 +1,250 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.metrics.SqlStatistics;
+import com.di2win.contaonline.util.AccountMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa depósitos e saques em filas ("lanes") de escritor único. O id da conta define a fila,
+ * então todas as movimentações de uma conta passam pela mesma thread; cada thread drena o que
+ * estiver acumulado e aplica tudo em uma única transação (group commit), com um UPDATE de saldo
+ * e uma inserção em lote de transações por conta.
+ *
+ * Desligado por padrão ({@code contaonline.lanes.enabled=false}): nesse caso as chamadas seguem
+ * direto para o {@link AccountService}, ou para o {@link LedgerService} no modo livro-razão.
+ */
+@Component
+public class AccountCommandExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountCommandExecutor.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${contaonline.lanes.enabled:false}")
+    private boolean enabled;
+
+    @Value("${contaonline.lanes.quantidade:8}")
+    private int quantidade;
+
+    @Value("${contaonline.lanes.tamanho-maximo-grupo:256}")
+    private int tamanhoMaximoGrupo;
+
+    @Value("${contaonline.lanes.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    private TransactionTemplate transactionTemplate;
+    private Lane[] lanes;
+    private volatile boolean ativo;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        lanes = new Lane[quantidade];
+        ativo = true;
+        for (int i = 0; i < quantidade; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].thread.start();
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (lanes == null) {
+            return;
+        }
+        ativo = false;
+        for (Lane lane : lanes) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(5));
+            List<Command> pendentes = new ArrayList<>();
+            lane.fila.drainTo(pendentes);
+            pendentes.forEach(command -> command.resultado.completeExceptionally(
+                    new IllegalStateException("Executor de movimentações encerrado.")));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AccountResponseDTO deposit(Long accountId, BigDecimal amount) {
+        if (!enabled) {
+            if (ledgerService.isEnabled()) {
+                return ledgerService.deposit(accountId, amount);
+            }
+            return AccountMapper.mapToAccountResponseDTO(accountService.deposit(accountId, amount));
+        }
+        return aguardar(submit(accountId, AccountMovement.deposito(amount)));
+    }
+
+    public AccountResponseDTO withdraw(Long accountId, BigDecimal amount) {
+        if (!enabled) {
+            if (ledgerService.isEnabled()) {
+                return ledgerService.withdraw(accountId, amount);
+            }
+            return AccountMapper.mapToAccountResponseDTO(accountService.withdraw(accountId, amount));
+        }
+        return aguardar(submit(accountId, AccountMovement.saque(amount)));
+    }
+
+    public CompletableFuture<AccountResponseDTO> submit(Long accountId, AccountMovement movement) {
+        if (!ativo) {
+            throw new IllegalStateException("Executor de movimentações não está ativo.");
+        }
+        Command command = new Command(accountId, movement);
+        // o SQL da movimentação roda na thread da lane, fora da contagem desta requisição
+        SqlStatistics.delegar();
+        try {
+            lanes[Math.floorMod(Long.hashCode(accountId), lanes.length)].fila.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao enfileirar movimentação.", e);
+        }
+        return command.resultado;
+    }
+
+    private AccountResponseDTO aguardar(CompletableFuture<AccountResponseDTO> resultado) {
+        try {
+            return resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Aplica o grupo em uma transação, bloqueando as contas em ordem crescente de id, como a
+     * importação em lote, para que as duas não entrem em deadlock. Se a transação do grupo falhar,
+     * cada conta é refeita na sua própria transação: o erro de uma conta não recusa as movimentações
+     * das outras, e um conflito de sequência do livro-razão é refeito como na API.
+     */
+    private void processar(List<Command> grupo) {
+        Map<Long, List<Command>> porConta = new TreeMap<>();
+        for (Command command : grupo) {
+            porConta.computeIfAbsent(command.accountId, id -> new ArrayList<>()).add(command);
+        }
+
+        Map<Long, List<MovementResult>> resultados;
+        try {
+            resultados = transactionTemplate.execute(status -> {
+                Map<Long, List<MovementResult>> aplicados = new HashMap<>();
+                porConta.forEach((accountId, commands) -> aplicados.put(accountId, applyMovements(accountId, commands)));
+                return aplicados;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Falha ao aplicar grupo de {} movimentações em {} contas; refazendo conta a conta",
+                    grupo.size(), porConta.size(), e);
+            porConta.forEach(this::processarConta);
+            return;
+        }
+
+        porConta.forEach((accountId, commands) -> concluir(commands, resultados.get(accountId)));
+    }
+
+    private void processarConta(Long accountId, List<Command> commands) {
+        List<MovementResult> resultados;
+        try {
+            resultados = ledgerService.repetirEmConflito(
+                    () -> transactionTemplate.execute(status -> applyMovements(accountId, commands)));
+        } catch (RuntimeException e) {
+            log.error("Falha ao aplicar {} movimentações da conta {}", commands.size(), accountId, e);
+            commands.forEach(command -> command.resultado.completeExceptionally(e));
+            return;
+        }
+        concluir(commands, resultados);
+    }
+
+    private List<MovementResult> applyMovements(Long accountId, List<Command> commands) {
+        return accountService.applyMovements(accountId, commands.stream().map(command -> command.movement).toList());
+    }
+
+    private static void concluir(List<Command> commands, List<MovementResult> resultados) {
+        for (int i = 0; i < commands.size(); i++) {
+            MovementResult resultado = resultados.get(i);
+            if (resultado.isSucesso()) {
+                commands.get(i).resultado.complete(resultado.getConta());
+            } else {
+                commands.get(i).resultado.completeExceptionally(resultado.getErro());
+            }
+        }
+    }
+
+    private static final class Command {
+
+        private final Long accountId;
+        private final AccountMovement movement;
+        private final CompletableFuture<AccountResponseDTO> resultado = new CompletableFuture<>();
+
+        private Command(Long accountId, AccountMovement movement) {
+            this.accountId = accountId;
+            this.movement = movement;
+        }
+    }
+
+    private final class Lane implements Runnable {
+
+        private final BlockingQueue<Command> fila = new LinkedBlockingQueue<>(capacidadeFila);
+        private final Thread thread;
+
+        private Lane(int indice) {
+            thread = new Thread(this, "conta-lane-" + indice);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Command> grupo = new ArrayList<>(tamanhoMaximoGrupo);
+            while (ativo || !fila.isEmpty()) {
+                try {
+                    Command primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                    if (primeiro == null) {
+                        continue;
+                    }
+                    grupo.add(primeiro);
+                    fila.drainTo(grupo, tamanhoMaximoGrupo - 1);
+                    processar(grupo);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    log.error("Erro inesperado na lane {}", thread.getName(), e);
+                    grupo.forEach(command -> command.resultado.completeExceptionally(e));
+                } finally {
+                    grupo.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class AccountMovement {
+
+    private TransactionType tipo;
+    private BigDecimal valor;
+
+    public static AccountMovement deposito(BigDecimal valor) {
+        return new AccountMovement(TransactionType.DEPOSITO, valor);
+    }
+
+    public static AccountMovement saque(BigDecimal valor) {
+        return new AccountMovement(TransactionType.SAQUE, valor);
+    }
+}
@@ -1,27 +1,42 @@
 package com.di2win.contaonline.service;
 
+import com.di2win.contaonline.cache.BalanceCache;
+import com.di2win.contaonline.dto.AccountBalanceDTO;
 import com.di2win.contaonline.dto.AccountCreationDTO;
 import com.di2win.contaonline.dto.TransactionDTO;
+import com.di2win.contaonline.dto.TransactionPageDTO;
 import com.di2win.contaonline.entity.Account;
 import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.DailyWithdrawal;
 import com.di2win.contaonline.entity.Transaction;
 import com.di2win.contaonline.entity.TransactionType;
 import com.di2win.contaonline.exception.account.*;
 import com.di2win.contaonline.exception.client.ClientNotFoundException;
+import com.di2win.contaonline.outbox.OutboxService;
 import com.di2win.contaonline.repository.AccountRepository;
 import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.DailyWithdrawalRepository;
 import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.util.AccountMapper;
 import com.di2win.contaonline.util.AccountNumberGenerator;
+import com.di2win.contaonline.util.CpfValidator;
+import com.di2win.contaonline.util.TransactionCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AccountService {
@@ -40,23 +55,41 @@ public class AccountService {
     @Autowired
     private AccountNumberGenerator accountNumberGenerator;
 
+    @Autowired
+    private DailyWithdrawalRepository dailyWithdrawalRepository;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private OutboxService outboxService;
+
     public Account createAccount(AccountCreationDTO accountCreationDTO) {
-        Optional<Client> client = clientRepository.findByCpf(accountCreationDTO.getCpf());
+        String cpf = CpfValidator.normalize(accountCreationDTO.getCpf());
+        Optional<Client> client = clientRepository.findByCpf(cpf != null ? cpf : accountCreationDTO.getCpf());
         if (client.isEmpty()) {
             throw new ClientNotFoundException("Cliente não encontrado com CPF: " + accountCreationDTO.getCpf());
         }
 
-        String numeroConta = accountNumberGenerator.generateUniqueAccountNumber(accountRepository);
+        return accountRepository.save(newAccount(client.get()));
+    }
 
+    /**
+     * Monta, sem gravar, uma conta nova do cliente com os valores de abertura (agência padrão,
+     * saldo zero e limite diário de 1000).
+     */
+    public Account newAccount(Client client) {
         Account account = new Account();
-        account.setCliente(client.get());
+        account.setCliente(client);
         account.setAgencia(AGENCIA_PADRAO);
-        account.setNumeroConta(numeroConta);
+        account.setNumeroConta(accountNumberGenerator.nextAccountNumber());
         account.setSaldo(BigDecimal.ZERO);
         account.setBloqueada(false);
         account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
-
-        return accountRepository.save(account);
+        return account;
     }
 
 
@@ -69,37 +102,113 @@ public class AccountService {
         return accountRepository.save(account);
     }
 
+    private Account findByIdForUpdate(Long id) {
+        return accountRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new AccountNotFoundException("Conta não encontrada: " + id));
+    }
+
+    @Transactional
     public Account deposit(Long accountId, BigDecimal amount) {
-        Account account = findById(accountId);
+        Account account = findByIdForUpdate(accountId);
+
+        Transaction transaction = registrarDeposito(account, amount);
+
+        transactionRepository.save(transaction);
+        outboxService.registrar(transaction, account.getSaldo());
+        accountRepository.save(account);
+        balanceCache.invalidateAfterCommit(accountId);
+
+        return account;
+    }
+
+
+    @Transactional
+    public Account withdraw(Long accountId, BigDecimal amount) {
+        Account account = findByIdForUpdate(accountId);
+
+        Transaction transaction = registrarSaque(account, amount, new SaquesDoDia(account));
+
+        transactionRepository.save(transaction);
+        outboxService.registrar(transaction, account.getSaldo());
+        accountRepository.save(account);
+        balanceCache.invalidateAfterCommit(accountId);
+
+        return account;
+    }
 
+    /**
+     * Aplica, na ordem recebida, um grupo de movimentações de uma mesma conta sob um único
+     * bloqueio da linha: um UPDATE de saldo e um único saveAll das transações para o grupo todo.
+     * Erros de negócio recusam apenas a movimentação correspondente; as demais seguem aplicadas.
+     * No modo livro-razão, as movimentações viram lançamentos do {@link LedgerService}.
+     */
+    @Transactional
+    public List<MovementResult> applyMovements(Long accountId, List<AccountMovement> movements) {
+        if (ledgerService.isEnabled()) {
+            return ledgerService.applyMovements(accountId, movements);
+        }
+
+        Optional<Account> encontrada = accountRepository.findByIdForUpdate(accountId);
+        if (encontrada.isEmpty()) {
+            AccountNotFoundException erro = new AccountNotFoundException("Conta não encontrada: " + accountId);
+            return movements.stream().map(movement -> MovementResult.falha(erro)).collect(Collectors.toList());
+        }
+
+        Account account = encontrada.get();
+        SaquesDoDia saquesDoDia = new SaquesDoDia(account);
+        List<Transaction> transactions = new ArrayList<>();
+        List<BigDecimal> saldos = new ArrayList<>();
+        List<MovementResult> resultados = new ArrayList<>(movements.size());
+
+        for (AccountMovement movement : movements) {
+            try {
+                Transaction transaction = movement.getTipo() == TransactionType.SAQUE
+                        ? registrarSaque(account, movement.getValor(), saquesDoDia)
+                        : registrarDeposito(account, movement.getValor());
+                transactions.add(transaction);
+                saldos.add(account.getSaldo());
+                resultados.add(MovementResult.sucesso(AccountMapper.mapToAccountResponseDTO(account)));
+            } catch (AccountBlockedException | InsufficientBalanceException
+                     | WithdrawalLimitExceededException | IllegalArgumentException e) {
+                resultados.add(MovementResult.falha(e));
+            }
+        }
+
+        if (!transactions.isEmpty()) {
+            transactionRepository.saveAll(transactions);
+            outboxService.registrar(transactions, saldos);
+            accountRepository.save(account);
+            balanceCache.invalidateAfterCommit(accountId);
+        }
+
+        return resultados;
+    }
+
+    private Transaction registrarDeposito(Account account, BigDecimal amount) {
         if (account.isBloqueada()) {
             throw new AccountBlockedException("A conta está bloqueada e não pode receber depósitos.");
         }
 
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("O valor do depósito deve ser maior que zero.");
+        }
+
         Transaction transaction = new Transaction();
         transaction.setConta(account);
         transaction.setValor(amount);
         transaction.setTipo(TransactionType.DEPOSITO);
 
-        account.getTransactions().add(transaction);
-
         account.setSaldo(account.getSaldo().add(amount));
 
-        transactionRepository.save(transaction);
-        accountRepository.save(account);
-
-        return findById(accountId);
+        return transaction;
     }
 
-
-    public Account withdraw(Long accountId, BigDecimal amount) {
-        Account account = findById(accountId);
-
+    private Transaction registrarSaque(Account account, BigDecimal amount, SaquesDoDia saquesDoDia) {
         if (account.isBloqueada()) {
             throw new AccountBlockedException("A conta está bloqueada e não pode realizar saques.");
         }
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("O valor do saque deve ser maior que zero.");
         }
 
@@ -107,8 +216,8 @@ public class AccountService {
             throw new InsufficientBalanceException("Saldo insuficiente!");
         }
 
-        BigDecimal totalSaquesDia = calcularTotalSaquesDia(account);
-        if (totalSaquesDia.add(amount).compareTo(account.getLimiteDiarioSaque()) > 0) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (saquesDoDia.total(agora.toLocalDate()).add(amount).compareTo(account.getLimiteDiarioSaque()) > 0) {
             throw new WithdrawalLimitExceededException("O valor total de saques do dia excede o limite diário permitido.");
         }
 
@@ -116,48 +225,128 @@ public class AccountService {
         transaction.setConta(account);
         transaction.setValor(amount);
         transaction.setTipo(TransactionType.SAQUE);
+        transaction.setDataHora(agora);
 
-        account.getTransactions().add(transaction);
         account.setSaldo(account.getSaldo().subtract(amount));
+        saquesDoDia.registrar(agora.toLocalDate(), amount);
 
-        transactionRepository.save(transaction);
-        accountRepository.save(account);
-
-        return findById(accountId);
+        return transaction;
     }
 
+    /**
+     * Acumulado de saques do dia da conta, mantido na tabela saques_diarios e atualizado na mesma
+     * transação do saque. Como a linha da conta está bloqueada, leitura e atualização do acumulado
+     * não concorrem com outros saques da mesma conta; a virada do dia simplesmente usa outra linha.
+     */
+    private final class SaquesDoDia {
 
-    private BigDecimal calcularTotalSaquesDia(Account account) {
-        LocalDateTime inicioDoDia = LocalDateTime.now().with(LocalTime.MIN);
-        LocalDateTime fimDoDia = LocalDateTime.now().with(LocalTime.MAX);
+        private final Account account;
+        private DailyWithdrawal saques;
 
-        List<Transaction> saquesDoDia = transactionRepository.findByContaAndDataHoraBetween(account, inicioDoDia, fimDoDia);
+        private SaquesDoDia(Account account) {
+            this.account = account;
+        }
 
-        return saquesDoDia.stream()
-                .filter(transacao -> transacao.getTipo() == TransactionType.SAQUE)
-                .map(Transaction::getValor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        private BigDecimal total(LocalDate data) {
+            return carregar(data).getTotal();
+        }
+
+        private void registrar(LocalDate data, BigDecimal amount) {
+            DailyWithdrawal atual = carregar(data);
+            atual.setTotal(atual.getTotal().add(amount));
+            if (atual.getId() == null) {
+                dailyWithdrawalRepository.save(atual);
+            }
+        }
+
+        private DailyWithdrawal carregar(LocalDate data) {
+            if (saques == null || !saques.getData().equals(data)) {
+                saques = dailyWithdrawalRepository.findByContaIdAndData(account.getId(), data)
+                        .orElseGet(() -> novoAcumulado(data));
+            }
+            return saques;
+        }
+
+        private DailyWithdrawal novoAcumulado(LocalDate data) {
+            DailyWithdrawal novo = new DailyWithdrawal();
+            novo.setContaId(account.getId());
+            novo.setData(data);
+            novo.setTotal(calcularTotalSaquesDia(account, data));
+            return novo;
+        }
     }
 
+    /**
+     * Soma, no banco, os saques já registrados no dia. Usado apenas para iniciar o acumulado do dia
+     * quando ainda não existe linha em saques_diarios para a conta.
+     */
+    private BigDecimal calcularTotalSaquesDia(Account account, LocalDate data) {
+        BigDecimal total = transactionRepository.sumValorByContaIdAndTipoAndDataHoraBetween(
+                account.getId(), TransactionType.SAQUE, data.atStartOfDay(), data.atTime(LocalTime.MAX));
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    public AccountBalanceDTO getBalance(Long accountId) {
+        return balanceCache.get(accountId, id -> {
+            AccountBalanceDTO balance = accountRepository.findBalanceById(id)
+                    .orElseThrow(() -> new AccountNotFoundException("Conta não encontrada: " + id));
+            if (ledgerService.isEnabled()) {
+                ledgerService.findSaldo(id).ifPresent(balance::setSaldo);
+            }
+            return balance;
+        });
+    }
+
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByPeriod(Long accountId, LocalDateTime start, LocalDateTime end) {
-        Account account = findById(accountId);
-        List<Transaction> transactions = transactionRepository.findByContaAndDataHoraBetween(account, start, end);
+        ensureExists(accountId);
+        return transactionRepository.findByContaIdAndPeriod(accountId, start, end);
+    }
+
+    public void ensureExists(Long accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Conta não encontrada: " + accountId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionPage(Long accountId, LocalDateTime start, LocalDateTime end,
+                                                 String cursor, int size) {
+        ensureExists(accountId);
+
+        TransactionCursor posicao = cursor != null
+                ? TransactionCursor.decode(cursor)
+                : new TransactionCursor(start, 0L);
 
-        return transactions.stream()
-                .map(transaction -> {
-                    TransactionDTO dto = new TransactionDTO();
-                    dto.setId(transaction.getId());
-                    dto.setValor(transaction.getValor());
-                    dto.setTipo(transaction.getTipo().toString());
-                    dto.setDataHora(transaction.getDataHora());
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        List<TransactionDTO> transacoes = new ArrayList<>(transactionRepository.findPageByContaIdAndPeriod(
+                accountId, start, end, posicao.getDataHora(), posicao.getId(), Limit.of(size + 1)));
+
+        String next = null;
+        if (transacoes.size() > size) {
+            transacoes.remove(size);
+            TransactionDTO ultima = transacoes.get(size - 1);
+            next = new TransactionCursor(ultima.getDataHora(), ultima.getId()).encode();
+        }
+
+        return new TransactionPageDTO(transacoes, next);
+    }
+
+    /**
+     * Entrega as transações do período uma a uma a partir de um cursor do banco, sem materializar
+     * o resultado; a transação (e a conexão) fica aberta até o consumidor terminar.
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactionsByPeriod(Long accountId, LocalDateTime start, LocalDateTime end,
+                                           Consumer<TransactionDTO> consumer) {
+        try (Stream<TransactionDTO> transacoes = transactionRepository.streamByContaIdAndPeriod(accountId, start, end)) {
+            transacoes.forEach(consumer);
+        }
     }
 
 
+    @Transactional
     public void blockAccount(Long accountId) {
-        Account account = findById(accountId);
+        Account account = findByIdForUpdate(accountId);
 
         if (account.isBloqueada()) {
             throw new IllegalStateException("A conta já está bloqueada.");
@@ -165,10 +354,12 @@ public class AccountService {
 
         account.setBloqueada(true);
         accountRepository.save(account);
+        balanceCache.invalidateAfterCommit(accountId);
     }
 
+    @Transactional
     public void unblockAccount(Long accountId) {
-        Account account = findById(accountId);
+        Account account = findByIdForUpdate(accountId);
 
         if (!account.isBloqueada()) {
             throw new IllegalStateException("A conta já está desbloqueada.");
@@ -176,21 +367,24 @@ public class AccountService {
 
         account.setBloqueada(false);
         accountRepository.save(account);
+        balanceCache.invalidateAfterCommit(accountId);
     }
 
 
+    @Transactional
     public void deleteAccount(Long accountId) {
-        Account account = findById(accountId);
+        Account account = findByIdForUpdate(accountId);
 
         if (account.isBloqueada()) {
             throw new AccountBlockedException("Conta bloqueada não pode ser deletada.");
         }
 
-        if (!account.getTransactions().isEmpty()) {
+        if (transactionRepository.existsByContaId(accountId)) {
             throw new IllegalStateException("Conta com transações não pode ser deletada.");
         }
 
         accountRepository.delete(account);
+        balanceCache.invalidateAfterCommit(accountId);
     }
 
 }
@@ -0,0 +1,304 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.AccountMovementTotalDTO;
+import com.di2win.contaonline.dto.DailyBalanceDTO;
+import com.di2win.contaonline.dto.TransactionDTO;
+import com.di2win.contaonline.entity.ConsolidatedBalance;
+import com.di2win.contaonline.entity.DailyBalance;
+import com.di2win.contaonline.entity.SnapshotControl;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.repository.ConsolidatedBalanceRepository;
+import com.di2win.contaonline.repository.DailyBalanceRepository;
+import com.di2win.contaonline.repository.SnapshotControlRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Saldos diários (saldo de fechamento e totais de depósitos e saques por conta e dia) em
+ * saldos_diarios, consolidados por um job agendado que lê apenas as transações posteriores à
+ * marca d'água de snapshots_controle, um dia por transação. O último saldo de cada conta fica
+ * também em saldos_consolidados, de onde é aberto o saldo do primeiro movimento de um novo dia.
+ *
+ * A consolidação fica {@code contaonline.snapshots.margem} atrás do relógio: transações gravadas
+ * com data_hora anterior à marca d'água (uma transação longa que confirmou depois da margem, por
+ * exemplo) não seriam consolidadas, e a margem deve cobrir a duração das transações de escrita.
+ * Os saldos partem de zero, como as contas abertas pela aplicação.
+ *
+ * As consultas usam o último saldo diário consolidado antes do dia pedido e somam, das
+ * transações, apenas o que veio depois dele; só dias ainda não consolidados são lidos por inteiro.
+ */
+@Service
+public class BalanceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    private static final String CONTROLE = "saldos_diarios";
+    private static final int CONTAS_POR_CONSULTA = 1000;
+    private static final int MAXIMO_DIAS = 366;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyBalanceRepository dailyBalanceRepository;
+
+    @Autowired
+    private ConsolidatedBalanceRepository consolidatedBalanceRepository;
+
+    @Autowired
+    private SnapshotControlRepository snapshotControlRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${contaonline.snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Value("${contaonline.snapshots.margem:2m}")
+    private Duration margem;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${contaonline.snapshots.intervalo:60000}",
+            initialDelayString = "${contaonline.snapshots.intervalo:60000}")
+    void consolidarAgendado() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int dias = atualizar();
+            if (dias > 0) {
+                log.debug("Saldos diários consolidados em {} janelas", dias);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao consolidar saldos diários", e);
+        }
+    }
+
+    /**
+     * Consolida as transações entre a marca d'água e o instante atual menos a margem. Retorna o
+     * número de janelas (dias) processadas.
+     */
+    public int atualizar() {
+        // em segundos: a coluna processado_ate não guarda nanossegundos e a marca d'água nunca alcançaria o limite
+        LocalDateTime limite = LocalDateTime.now().minus(margem).truncatedTo(ChronoUnit.SECONDS);
+        int janelas = 0;
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status -> consolidarJanela(limite)))) {
+            janelas++;
+        }
+        return janelas;
+    }
+
+    /**
+     * Descarta os saldos diários e consolida de novo todo o histórico de transações.
+     */
+    public int reconstruir() {
+        transactionTemplate.executeWithoutResult(status -> {
+            SnapshotControl controle = carregarControleParaAtualizacao();
+            dailyBalanceRepository.deleteAllInBatch();
+            consolidatedBalanceRepository.deleteAllInBatch();
+            LocalDateTime primeira = transactionRepository.findMinDataHora();
+            controle.setProcessadoAte((primeira != null ? primeira.toLocalDate() : LocalDate.now()).atStartOfDay());
+        });
+        return atualizar();
+    }
+
+    private boolean consolidarJanela(LocalDateTime limite) {
+        SnapshotControl controle = carregarControleParaAtualizacao();
+        LocalDateTime inicio = controle.getProcessadoAte();
+        if (!inicio.isBefore(limite)) {
+            return false;
+        }
+
+        LocalDate dia = inicio.toLocalDate();
+        LocalDateTime proximoDia = dia.plusDays(1).atStartOfDay();
+        LocalDateTime fim = limite.isBefore(proximoDia) ? limite : proximoDia;
+
+        Map<Long, List<AccountMovementTotalDTO>> totais = transactionRepository.sumValorByContaAndTipo(inicio, fim).stream()
+                .collect(Collectors.groupingBy(AccountMovementTotalDTO::getContaId));
+        List<Long> contaIds = new ArrayList<>(totais.keySet());
+        for (int i = 0; i < contaIds.size(); i += CONTAS_POR_CONSULTA) {
+            consolidar(contaIds.subList(i, Math.min(i + CONTAS_POR_CONSULTA, contaIds.size())), totais, dia);
+        }
+
+        controle.setProcessadoAte(fim);
+        return true;
+    }
+
+    /**
+     * Soma os totais da janela ao saldo do dia de cada conta: a linha do dia, se já existe, ou uma
+     * nova aberta com o último saldo consolidado da conta.
+     */
+    private void consolidar(List<Long> contaIds, Map<Long, List<AccountMovementTotalDTO>> totais, LocalDate dia) {
+        Map<Long, DailyBalance> saldos = new HashMap<>();
+        dailyBalanceRepository.findByContaIdInAndData(contaIds, dia).forEach(saldo -> saldos.put(saldo.getContaId(), saldo));
+
+        Map<Long, ConsolidatedBalance> consolidados = new HashMap<>();
+        consolidatedBalanceRepository.findAllById(contaIds).forEach(consolidado -> consolidados.put(consolidado.getContaId(), consolidado));
+
+        List<DailyBalance> novos = new ArrayList<>();
+        for (Long contaId : contaIds) {
+            if (!saldos.containsKey(contaId)) {
+                ConsolidatedBalance anterior = consolidados.get(contaId);
+                DailyBalance novo = new DailyBalance();
+                novo.setContaId(contaId);
+                novo.setData(dia);
+                novo.setSaldoFinal(anterior != null ? anterior.getSaldoFinal() : BigDecimal.ZERO);
+                saldos.put(contaId, novo);
+                novos.add(novo);
+            }
+        }
+
+        List<ConsolidatedBalance> primeiros = new ArrayList<>();
+        for (Long contaId : contaIds) {
+            DailyBalance saldo = saldos.get(contaId);
+            totais.get(contaId).forEach(total -> registrar(saldo, total.getTipo(), total.getTotal()));
+
+            ConsolidatedBalance consolidado = consolidados.get(contaId);
+            if (consolidado == null) {
+                consolidado = new ConsolidatedBalance();
+                consolidado.setContaId(contaId);
+                primeiros.add(consolidado);
+            }
+            consolidado.setData(dia);
+            consolidado.setSaldoFinal(saldo.getSaldoFinal());
+        }
+        dailyBalanceRepository.saveAll(novos);
+        consolidatedBalanceRepository.saveAll(primeiros);
+    }
+
+    private static void registrar(DailyBalance saldo, TransactionType tipo, BigDecimal valor) {
+        if (tipo == TransactionType.DEPOSITO) {
+            saldo.setTotalDepositos(saldo.getTotalDepositos().add(valor));
+            saldo.setSaldoFinal(saldo.getSaldoFinal().add(valor));
+        } else {
+            saldo.setTotalSaques(saldo.getTotalSaques().add(valor));
+            saldo.setSaldoFinal(saldo.getSaldoFinal().subtract(valor));
+        }
+    }
+
+    /**
+     * Saldo da conta no instante: último fechamento consolidado anterior ao dia do instante (ou ao
+     * dia da marca d'água, se ela estiver antes) mais as transações desde então.
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceAt(Long accountId, LocalDateTime instante) {
+        accountService.ensureExists(accountId);
+
+        LocalDateTime processadoAte = processadoAte();
+        LocalDate dia = (instante.isBefore(processadoAte) ? instante : processadoAte).toLocalDate();
+
+        BigDecimal saldo = dailyBalanceRepository.findFirstByContaIdAndDataLessThanOrderByContaIdAscDataDesc(accountId, dia)
+                .map(DailyBalance::getSaldoFinal)
+                .orElse(BigDecimal.ZERO);
+        BigDecimal movimento = transactionRepository.sumNetValorByContaIdAndDataHoraBetween(
+                accountId, dia.atStartOfDay(), instante);
+        return movimento != null ? saldo.add(movimento) : saldo;
+    }
+
+    /**
+     * Saldo de fechamento e totais de cada dia do período, inclusive dos dias sem movimentação.
+     * Dias futuros ficam de fora; o dia corrente traz o saldo até agora.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyBalanceDTO> getDailyBalances(Long accountId, LocalDate inicio, LocalDate fim) {
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data de início não pode ser posterior à data de término.");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS) {
+            throw new IllegalArgumentException("O período deve ter no máximo " + MAXIMO_DIAS + " dias.");
+        }
+        accountService.ensureExists(accountId);
+
+        LocalDate hoje = LocalDate.now();
+        LocalDate ultimo = fim.isAfter(hoje) ? hoje : fim;
+        if (inicio.isAfter(ultimo)) {
+            return List.of();
+        }
+
+        // Dias anteriores ao da marca d'água estão completos em saldos_diarios; os demais vêm das transações.
+        LocalDate corte = processadoAte().toLocalDate();
+        LocalDate primeiro = inicio.isBefore(corte) ? inicio : corte;
+
+        BigDecimal saldo = dailyBalanceRepository.findFirstByContaIdAndDataLessThanOrderByContaIdAscDataDesc(accountId, primeiro)
+                .map(DailyBalance::getSaldoFinal)
+                .orElse(BigDecimal.ZERO);
+
+        Map<LocalDate, DailyBalance> consolidados = new HashMap<>();
+        if (inicio.isBefore(corte)) {
+            dailyBalanceRepository.findByContaIdAndDataBetweenOrderByData(accountId, inicio, corte.minusDays(1))
+                    .forEach(consolidado -> consolidados.put(consolidado.getData(), consolidado));
+        }
+
+        // Para os dias recentes, saldoFinal acumula apenas a variação do dia.
+        Map<LocalDate, DailyBalance> recentes = new HashMap<>();
+        if (!ultimo.isBefore(corte)) {
+            for (TransactionDTO transacao : transactionRepository.findByContaIdAndPeriod(
+                    accountId, corte.atStartOfDay(), ultimo.atTime(LocalTime.MAX))) {
+                DailyBalance recente = recentes.computeIfAbsent(transacao.getDataHora().toLocalDate(), data -> new DailyBalance());
+                registrar(recente, TransactionType.valueOf(transacao.getTipo()), transacao.getValor());
+            }
+        }
+
+        List<DailyBalanceDTO> dias = new ArrayList<>();
+        for (LocalDate data = primeiro; !data.isAfter(ultimo); data = data.plusDays(1)) {
+            BigDecimal depositos = BigDecimal.ZERO;
+            BigDecimal saques = BigDecimal.ZERO;
+            DailyBalance consolidado = consolidados.get(data);
+            DailyBalance recente = recentes.get(data);
+            if (consolidado != null) {
+                saldo = consolidado.getSaldoFinal();
+                depositos = consolidado.getTotalDepositos();
+                saques = consolidado.getTotalSaques();
+            } else if (recente != null) {
+                saldo = saldo.add(recente.getSaldoFinal());
+                depositos = recente.getTotalDepositos();
+                saques = recente.getTotalSaques();
+            }
+            if (!data.isBefore(inicio)) {
+                dias.add(new DailyBalanceDTO(data, saldo, depositos, saques));
+            }
+        }
+        return dias;
+    }
+
+    private LocalDateTime processadoAte() {
+        return snapshotControlRepository.findById(CONTROLE)
+                .map(SnapshotControl::getProcessadoAte)
+                .orElseThrow(() -> new IllegalStateException("Controle de saldos diários não encontrado."));
+    }
+
+    private SnapshotControl carregarControleParaAtualizacao() {
+        return snapshotControlRepository.findByNomeForUpdate(CONTROLE)
+                .orElseThrow(() -> new IllegalStateException("Controle de saldos diários não encontrado."));
+    }
+}
@@ -1,16 +1,25 @@
 package com.di2win.contaonline.service;
 
+import com.di2win.contaonline.dto.ClientAccountSummaryDTO;
 import com.di2win.contaonline.dto.ClientCreationDTO;
+import com.di2win.contaonline.dto.ClientPortfolioDTO;
 import com.di2win.contaonline.entity.Client;
 import com.di2win.contaonline.exception.client.ClientNotFoundException;
 import com.di2win.contaonline.exception.client.InvalidBirthDateException;
 import com.di2win.contaonline.exception.client.InvalidNameException;
 import com.di2win.contaonline.exception.cpf.CpfAlreadyExistsException;
+import com.di2win.contaonline.repository.AccountRepository;
 import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.util.ClientMapper;
 import com.di2win.contaonline.util.CpfValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,8 +28,17 @@ public class ClientService {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    private static final int DIAS_MOVIMENTACAO = 30;
+
     public Client createClient(ClientCreationDTO clientCreationDTO) {
         CpfValidator.validate(clientCreationDTO.getCpf());
+        String cpf = CpfValidator.normalize(clientCreationDTO.getCpf());
 
         if (clientCreationDTO.getNome() == null || clientCreationDTO.getNome().trim().isEmpty()) {
             throw new InvalidNameException("O nome não pode ser nulo ou vazio.");
@@ -30,13 +48,13 @@ public class ClientService {
             throw new InvalidBirthDateException("A data de nascimento não pode ser nula.");
         }
 
-        Optional<Client> existingClient = clientRepository.findByCpf(clientCreationDTO.getCpf());
+        Optional<Client> existingClient = clientRepository.findByCpf(cpf);
         if (existingClient.isPresent()) {
-            throw new CpfAlreadyExistsException("CPF já cadastrado: " + clientCreationDTO.getCpf());
+            throw new CpfAlreadyExistsException("CPF já cadastrado: " + cpf);
         }
 
         Client client = new Client();
-        client.setCpf(clientCreationDTO.getCpf());
+        client.setCpf(cpf);
         client.setNome(clientCreationDTO.getNome());
         client.setDataNascimento(clientCreationDTO.getDataNascimento());
 
@@ -48,12 +66,41 @@ public class ClientService {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientNotFoundException("Cliente não encontrado com ID: " + id));
 
-        if (!client.getContas().isEmpty()) {
+        if (accountRepository.existsByClienteId(id)) {
             throw new IllegalStateException("Cliente não pode ser removido porque possui contas associadas.");
         }
 
         clientRepository.delete(client);
     }
 
+    @Transactional(readOnly = true)
+    public ClientPortfolioDTO getPortfolio(Long id) {
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> new ClientNotFoundException("Cliente não encontrado com ID: " + id));
+
+        return ClientMapper.mapToClientPortfolioDTO(client, findAccountSummaries(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClientAccountSummaryDTO> getAccounts(Long id) {
+        if (!clientRepository.existsById(id)) {
+            throw new ClientNotFoundException("Cliente não encontrado com ID: " + id);
+        }
+        return findAccountSummaries(id);
+    }
 
+    /**
+     * Contas do cliente com saldo e totais dos últimos 30 dias. O custo é fixo em uma consulta
+     * agregada (mais uma no modo livro-razão, para os saldos), independente do número de contas.
+     */
+    private List<ClientAccountSummaryDTO> findAccountSummaries(Long clienteId) {
+        List<ClientAccountSummaryDTO> contas = accountRepository.findSummariesByClienteId(
+                clienteId, LocalDateTime.now().minusDays(DIAS_MOVIMENTACAO));
+
+        if (ledgerService.isEnabled() && !contas.isEmpty()) {
+            Map<Long, BigDecimal> saldos = ledgerService.findSaldosByCliente(clienteId);
+            contas.forEach(conta -> conta.setSaldo(saldos.getOrDefault(conta.getId(), conta.getSaldo())));
+        }
+        return contas;
+    }
 }
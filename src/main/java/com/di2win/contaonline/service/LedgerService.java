@@ -0,0 +1,354 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.cache.BalanceCache;
+import com.di2win.contaonline.dto.AccountBalanceDTO;
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.dto.TransactionDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.DailyWithdrawal;
+import com.di2win.contaonline.entity.LedgerCheckpoint;
+import com.di2win.contaonline.entity.LedgerEntry;
+import com.di2win.contaonline.entity.Transaction;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.exception.account.*;
+import com.di2win.contaonline.outbox.OutboxService;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.DailyWithdrawalRepository;
+import com.di2win.contaonline.repository.LedgerCheckpointRepository;
+import com.di2win.contaonline.repository.LedgerEntryRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.util.AccountMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Modo livro-razão ({@code contaonline.ledger.enabled=true}): cada depósito ou saque vira um
+ * lançamento imutável em {@code lancamentos}, com a próxima sequência da conta, o saldo corrente e
+ * o acumulado de saques do dia. A escrita é só inserção: a linha da conta não é bloqueada nem
+ * atualizada, e o saldo passa a ser o do último lançamento.
+ *
+ * Dois lançamentos concorrentes na mesma conta disputam a mesma sequência; o índice único recusa
+ * o segundo, que é refeito sobre o novo último lançamento até {@code contaonline.ledger.tentativas}
+ * vezes. O primeiro lançamento de uma conta parte do saldo e dos saques do dia gravados na conta,
+ * e esse saldo de abertura fica registrado como checkpoint de sequência zero para a verificação.
+ *
+ * O modo pode ser desligado e religado. As transações gravadas com ele desligado (que atualizaram
+ * contas.saldo e saques_diarios) não têm lançamento; o próximo lançamento da conta as registra
+ * antes, na ordem em que aconteceram, e só então parte do saldo e dos saques do dia resultantes.
+ * Até lá, o saldo consultado é o de contas.saldo.
+ */
+@Service
+public class LedgerService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyWithdrawalRepository dailyWithdrawalRepository;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${contaonline.ledger.enabled:false}")
+    private boolean enabled;
+
+    @Value("${contaonline.ledger.tentativas:10}")
+    private int tentativas;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AccountResponseDTO deposit(Long accountId, BigDecimal amount) {
+        return lancar(accountId, AccountMovement.deposito(amount));
+    }
+
+    public AccountResponseDTO withdraw(Long accountId, BigDecimal amount) {
+        return lancar(accountId, AccountMovement.saque(amount));
+    }
+
+    private AccountResponseDTO lancar(Long accountId, AccountMovement movement) {
+        MovementResult resultado = repetirEmConflito(() -> transactionTemplate.execute(
+                status -> applyMovements(accountId, List.of(movement)).get(0)));
+        if (!resultado.isSucesso()) {
+            throw resultado.getErro();
+        }
+        return resultado.getConta();
+    }
+
+    /**
+     * Executa a operação (uma transação que lança movimentações) e, no modo livro-razão, a refaz com
+     * espera aleatória quando o commit falha porque outra transação lançou na mesma conta. Usado pela
+     * API, pelas lanes e pela importação em lote; esgotadas as tentativas, falha com
+     * {@link ConcurrentMovementException}. Fora do modo livro-razão, a operação roda uma vez.
+     */
+    public <T> T repetirEmConflito(Supplier<T> operacao) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return operacao.get();
+            } catch (DataIntegrityViolationException e) {
+                if (!enabled) {
+                    throw e;
+                }
+                if (tentativa >= tentativas) {
+                    throw new ConcurrentMovementException(
+                            "Não foi possível registrar a movimentação por concorrência na conta. Tente novamente.", e);
+                }
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    /**
+     * Espera aleatória, dobrando a cada tentativa até 64 ms, para que os lançamentos que colidiram
+     * na mesma sequência não voltem a colidir na seguinte.
+     */
+    private static void aguardar(int tentativa) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 2L << Math.min(tentativa, 5)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao refazer movimentação.", e);
+        }
+    }
+
+    /**
+     * Mesmo contrato de {@link AccountService#applyMovements}: as movimentações de uma conta são
+     * lançadas em ordem e erros de negócio recusam só a movimentação correspondente. Se outra
+     * transação lançar na conta ao mesmo tempo, o commit falha com
+     * {@link DataIntegrityViolationException}.
+     */
+    @Transactional
+    public List<MovementResult> applyMovements(Long accountId, List<AccountMovement> movements) {
+        Optional<Account> encontrada = accountRepository.findWithClienteById(accountId);
+        if (encontrada.isEmpty()) {
+            AccountNotFoundException erro = new AccountNotFoundException("Conta não encontrada: " + accountId);
+            return movements.stream().map(movement -> MovementResult.falha(erro)).collect(Collectors.toList());
+        }
+
+        Account account = encontrada.get();
+        LedgerEntry ultimoGravado = ledgerEntryRepository.findFirstByContaIdOrderByContaIdAscSequenciaDesc(accountId)
+                .orElseGet(() -> abertura(account));
+        List<LedgerEntry> recuperados = ultimoGravado.getSequencia() == 0L
+                ? List.of()
+                : recuperarForaDoLivro(ultimoGravado);
+        LedgerEntry ultimo = recuperados.isEmpty() ? ultimoGravado : recuperados.get(recuperados.size() - 1);
+
+        List<Transaction> transactions = new ArrayList<>();
+        List<LedgerEntry> lancamentos = new ArrayList<>();
+        List<MovementResult> resultados = new ArrayList<>(movements.size());
+
+        for (AccountMovement movement : movements) {
+            try {
+                LedgerEntry lancamento = proximo(account, ultimo, movement);
+                transactions.add(transacao(account, lancamento));
+                lancamentos.add(lancamento);
+                ultimo = lancamento;
+
+                AccountResponseDTO conta = AccountMapper.mapToAccountResponseDTO(account);
+                conta.setSaldo(lancamento.getSaldo());
+                resultados.add(MovementResult.sucesso(conta));
+            } catch (AccountBlockedException | InsufficientBalanceException
+                     | WithdrawalLimitExceededException | IllegalArgumentException e) {
+                resultados.add(MovementResult.falha(e));
+            }
+        }
+
+        if (!recuperados.isEmpty()) {
+            ledgerEntryRepository.saveAll(recuperados);
+        }
+        if (!lancamentos.isEmpty()) {
+            transactionRepository.saveAll(transactions);
+            for (int i = 0; i < lancamentos.size(); i++) {
+                lancamentos.get(i).setTransacaoId(transactions.get(i).getId());
+            }
+            ledgerEntryRepository.saveAll(lancamentos);
+            if (ultimoGravado.getSequencia() == 0L) {
+                registrarAbertura(ultimoGravado);
+            }
+            outboxService.registrar(transactions, lancamentos.stream().map(LedgerEntry::getSaldo).toList());
+            balanceCache.invalidateAfterCommit(accountId);
+        }
+
+        return resultados;
+    }
+
+    /**
+     * Saldo do último lançamento da conta; vazio quando ela ainda não tem lançamentos ou quando há
+     * transações gravadas fora do livro-razão depois dele (o saldo está em contas.saldo).
+     */
+    public Optional<BigDecimal> findSaldo(Long accountId) {
+        return ledgerEntryRepository.findFirstByContaIdOrderByContaIdAscSequenciaDesc(accountId)
+                .filter(ultimo -> !temForaDoLivro(ultimo))
+                .map(LedgerEntry::getSaldo);
+    }
+
+    /**
+     * Se há transações da conta gravadas com o modo desligado depois do lançamento.
+     */
+    public boolean temForaDoLivro(LedgerEntry ultimo) {
+        return !transactionRepository.findForaDoLivroRazao(ultimo.getContaId(), ultimo.getDataHora()).isEmpty();
+    }
+
+    /**
+     * Lançamentos para as transações gravadas com o modo desligado depois do último lançamento, em
+     * sequência a ele: o saldo e os saques do dia seguem as transações, sem reaplicar as regras de
+     * negócio, que já valeram quando elas foram gravadas.
+     */
+    private List<LedgerEntry> recuperarForaDoLivro(LedgerEntry ultimo) {
+        List<TransactionDTO> foraDoLivro = transactionRepository.findForaDoLivroRazao(ultimo.getContaId(), ultimo.getDataHora());
+        List<LedgerEntry> recuperados = new ArrayList<>(foraDoLivro.size());
+        for (TransactionDTO transaction : foraDoLivro) {
+            TransactionType tipo = TransactionType.valueOf(transaction.getTipo());
+            BigDecimal saquesDia = ultimo.getDataHora().toLocalDate().equals(transaction.getDataHora().toLocalDate())
+                    ? ultimo.getSaquesDia()
+                    : BigDecimal.ZERO;
+
+            LedgerEntry lancamento = new LedgerEntry();
+            lancamento.setContaId(ultimo.getContaId());
+            lancamento.setSequencia(ultimo.getSequencia() + 1);
+            lancamento.setTipo(tipo);
+            lancamento.setValor(transaction.getValor());
+            lancamento.setSaldo(ultimo.getSaldo().add(lancamento.getValorComSinal()));
+            lancamento.setSaquesDia(tipo == TransactionType.SAQUE ? saquesDia.add(transaction.getValor()) : saquesDia);
+            lancamento.setDataHora(transaction.getDataHora());
+            lancamento.setTransacaoId(transaction.getId());
+            recuperados.add(lancamento);
+            ultimo = lancamento;
+        }
+        return recuperados;
+    }
+
+    /**
+     * Saldos do último lançamento de cada conta do cliente, por id de conta; contas ainda sem
+     * lançamentos ficam de fora.
+     */
+    public Map<Long, BigDecimal> findSaldosByCliente(Long clienteId) {
+        return ledgerEntryRepository.findSaldosByClienteId(clienteId).stream()
+                .collect(Collectors.toMap(AccountBalanceDTO::getId, AccountBalanceDTO::getSaldo));
+    }
+
+    private LedgerEntry proximo(Account account, LedgerEntry ultimo, AccountMovement movement) {
+        BigDecimal amount = movement.getValor();
+        boolean saque = movement.getTipo() == TransactionType.SAQUE;
+        String operacao = saque ? "realizar saques" : "receber depósitos";
+
+        if (account.isBloqueada()) {
+            throw new AccountBlockedException("A conta está bloqueada e não pode " + operacao + ".");
+        }
+
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("O valor do " + (saque ? "saque" : "depósito") + " deve ser maior que zero.");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        BigDecimal saquesDia = ultimo.getDataHora().toLocalDate().equals(agora.toLocalDate())
+                ? ultimo.getSaquesDia()
+                : BigDecimal.ZERO;
+
+        if (saque) {
+            if (ultimo.getSaldo().compareTo(amount) < 0) {
+                throw new InsufficientBalanceException("Saldo insuficiente!");
+            }
+            if (saquesDia.add(amount).compareTo(account.getLimiteDiarioSaque()) > 0) {
+                throw new WithdrawalLimitExceededException("O valor total de saques do dia excede o limite diário permitido.");
+            }
+        }
+
+        LedgerEntry lancamento = new LedgerEntry();
+        lancamento.setContaId(account.getId());
+        lancamento.setSequencia(ultimo.getSequencia() + 1);
+        lancamento.setTipo(movement.getTipo());
+        lancamento.setValor(amount);
+        lancamento.setSaldo(ultimo.getSaldo().add(lancamento.getValorComSinal()));
+        lancamento.setSaquesDia(saque ? saquesDia.add(amount) : saquesDia);
+        lancamento.setDataHora(agora);
+        return lancamento;
+    }
+
+    /**
+     * Lançamento fictício de sequência zero com o saldo e os saques do dia gravados na conta,
+     * ponto de partida da primeira movimentação no livro-razão. Não é gravado.
+     */
+    private LedgerEntry abertura(Account account) {
+        LocalDate hoje = LocalDate.now();
+        BigDecimal saquesHoje = dailyWithdrawalRepository.findByContaIdAndData(account.getId(), hoje)
+                .map(DailyWithdrawal::getTotal)
+                .orElseGet(() -> {
+                    BigDecimal total = transactionRepository.sumValorByContaIdAndTipoAndDataHoraBetween(
+                            account.getId(), TransactionType.SAQUE, hoje.atStartOfDay(), hoje.atTime(LocalTime.MAX));
+                    return total != null ? total : BigDecimal.ZERO;
+                });
+
+        LedgerEntry abertura = new LedgerEntry();
+        abertura.setContaId(account.getId());
+        abertura.setSequencia(0L);
+        abertura.setSaldo(account.getSaldo());
+        abertura.setSaquesDia(saquesHoje);
+        abertura.setDataHora(hoje.atStartOfDay());
+        return abertura;
+    }
+
+    /**
+     * Checkpoint de sequência zero com o saldo anterior ao livro-razão, de onde parte a primeira
+     * verificação da conta. Dois primeiros lançamentos concorrentes colidem também aqui e o perdedor
+     * é refeito como qualquer conflito de sequência.
+     */
+    private void registrarAbertura(LedgerEntry abertura) {
+        LedgerCheckpoint checkpoint = new LedgerCheckpoint();
+        checkpoint.setContaId(abertura.getContaId());
+        checkpoint.setSequencia(0L);
+        checkpoint.setSaldo(abertura.getSaldo());
+        checkpoint.setVerificadoEm(LocalDateTime.now());
+        ledgerCheckpointRepository.save(checkpoint);
+    }
+
+    private static Transaction transacao(Account account, LedgerEntry lancamento) {
+        Transaction transaction = new Transaction();
+        transaction.setConta(account);
+        transaction.setValor(lancamento.getValor());
+        transaction.setTipo(lancamento.getTipo());
+        transaction.setDataHora(lancamento.getDataHora());
+        return transaction;
+    }
+}
@@ -0,0 +1,210 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.LedgerDivergenceDTO;
+import com.di2win.contaonline.dto.LedgerVerificationDTO;
+import com.di2win.contaonline.entity.LedgerCheckpoint;
+import com.di2win.contaonline.entity.LedgerEntry;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.LedgerCheckpointRepository;
+import com.di2win.contaonline.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verificação do livro-razão: recalcula, em paralelo entre contas, o saldo de cada lançamento a
+ * partir do último checkpoint da conta e confere a sequência e o saldo corrente gravados. Contas
+ * sem divergência têm o checkpoint avançado até o último lançamento e o saldo copiado para
+ * {@code contas.saldo}; as divergentes ficam no relatório, no log e no contador
+ * {@code contaonline.ledger.divergencias}, e voltam a ser conferidas na próxima execução.
+ */
+@Service
+public class LedgerVerificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerVerificationService.class);
+
+    private static final int CONTAS_POR_PAGINA = 1000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${contaonline.ledger.verificacao.threads:4}")
+    private int threads;
+
+    private final ReentrantLock execucao = new ReentrantLock();
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    private volatile LedgerVerificationDTO ultimoRelatorio;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger contador = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-verificacao-" + contador.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${contaonline.ledger.verificacao.intervalo:300000}",
+            initialDelayString = "${contaonline.ledger.verificacao.intervalo:300000}")
+    void verificarAgendado() {
+        if (!ledgerService.isEnabled()) {
+            return;
+        }
+        try {
+            verificar();
+        } catch (RuntimeException e) {
+            log.error("Falha na verificação do livro-razão", e);
+        }
+    }
+
+    public LedgerVerificationDTO getUltimoRelatorio() {
+        return ultimoRelatorio;
+    }
+
+    /**
+     * Percorre todas as contas em páginas de ids; as contas de cada página são verificadas em
+     * paralelo, cada uma em sua própria transação. Uma verificação por vez; a chamada seguinte
+     * espera a anterior terminar.
+     */
+    public LedgerVerificationDTO verificar() {
+        execucao.lock();
+        try {
+            return verificarContas();
+        } finally {
+            execucao.unlock();
+        }
+    }
+
+    private LedgerVerificationDTO verificarContas() {
+        LocalDateTime inicio = LocalDateTime.now();
+        long contas = 0;
+        long lancamentos = 0;
+        List<LedgerDivergenceDTO> divergencias = new ArrayList<>();
+
+        List<Long> ids = accountRepository.findIdsAfter(0L, Limit.of(CONTAS_POR_PAGINA));
+        while (!ids.isEmpty()) {
+            List<CompletableFuture<Verificacao>> pagina = ids.stream()
+                    .map(id -> CompletableFuture.supplyAsync(
+                            () -> transactionTemplate.execute(status -> verificarConta(id)), executor))
+                    .toList();
+
+            for (CompletableFuture<Verificacao> futuro : pagina) {
+                Verificacao verificacao = futuro.join();
+                contas++;
+                lancamentos += verificacao.lancamentos;
+                if (verificacao.divergencia != null) {
+                    divergencias.add(verificacao.divergencia);
+                }
+            }
+            ids = accountRepository.findIdsAfter(ids.get(ids.size() - 1), Limit.of(CONTAS_POR_PAGINA));
+        }
+
+        if (!divergencias.isEmpty()) {
+            log.warn("Livro-razão com {} contas divergentes: {}", divergencias.size(), divergencias);
+            meterRegistry.ifAvailable(registry ->
+                    registry.counter("contaonline.ledger.divergencias").increment(divergencias.size()));
+        }
+
+        ultimoRelatorio = new LedgerVerificationDTO(inicio, LocalDateTime.now(), contas, lancamentos, divergencias);
+        return ultimoRelatorio;
+    }
+
+    private Verificacao verificarConta(Long contaId) {
+        LedgerCheckpoint checkpoint = ledgerCheckpointRepository.findById(contaId).orElse(null);
+        long sequencia = checkpoint != null ? checkpoint.getSequencia() : 0L;
+        List<LedgerEntry> cauda = ledgerEntryRepository.findByContaIdAndSequenciaGreaterThanOrderBySequencia(contaId, sequencia);
+        if (cauda.isEmpty()) {
+            return new Verificacao(0, null);
+        }
+        // movimentações feitas com o modo desligado: contas.saldo já as inclui e o livro-razão só as
+        // registra no próximo lançamento; copiar o saldo dele agora desfaria essas movimentações
+        if (ledgerService.temForaDoLivro(cauda.get(cauda.size() - 1))) {
+            return new Verificacao(0, null);
+        }
+
+        // sem checkpoint (livro-razão anterior ao checkpoint de abertura), contas.saldo ainda guarda
+        // o saldo anterior ao primeiro lançamento: só a verificação o atualiza no modo livro-razão
+        BigDecimal saldo = checkpoint != null
+                ? checkpoint.getSaldo()
+                : accountRepository.findById(contaId).orElseThrow().getSaldo();
+
+        for (LedgerEntry lancamento : cauda) {
+            if (lancamento.getSequencia() != sequencia + 1) {
+                return new Verificacao(cauda.size(), new LedgerDivergenceDTO(contaId, sequencia + 1,
+                        saldo, null, "Lançamento ausente antes da sequência " + lancamento.getSequencia()));
+            }
+            saldo = saldo.add(lancamento.getValorComSinal());
+            if (saldo.compareTo(lancamento.getSaldo()) != 0) {
+                return new Verificacao(cauda.size(), new LedgerDivergenceDTO(contaId, lancamento.getSequencia(),
+                        saldo, lancamento.getSaldo(), "Saldo corrente diferente da soma dos lançamentos"));
+            }
+            sequencia++;
+        }
+
+        if (checkpoint == null) {
+            checkpoint = new LedgerCheckpoint();
+            checkpoint.setContaId(contaId);
+        }
+        checkpoint.setSequencia(sequencia);
+        checkpoint.setSaldo(saldo);
+        checkpoint.setVerificadoEm(LocalDateTime.now());
+        ledgerCheckpointRepository.save(checkpoint);
+        accountRepository.updateSaldo(contaId, saldo);
+
+        return new Verificacao(cauda.size(), null);
+    }
+
+    private static final class Verificacao {
+
+        private final int lancamentos;
+        private final LedgerDivergenceDTO divergencia;
+
+        private Verificacao(int lancamentos, LedgerDivergenceDTO divergencia) {
+            this.lancamentos = lancamentos;
+            this.divergencia = divergencia;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import lombok.Getter;
+
+/**
+ * Resultado individual de uma movimentação aplicada em grupo: o estado da conta logo após a
+ * movimentação ou o erro de negócio que a recusou.
+ */
+@Getter
+public class MovementResult {
+
+    private final AccountResponseDTO conta;
+    private final RuntimeException erro;
+
+    private MovementResult(AccountResponseDTO conta, RuntimeException erro) {
+        this.conta = conta;
+        this.erro = erro;
+    }
+
+    public static MovementResult sucesso(AccountResponseDTO conta) {
+        return new MovementResult(conta, null);
+    }
+
+    public static MovementResult falha(RuntimeException erro) {
+        return new MovementResult(null, erro);
+    }
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+}
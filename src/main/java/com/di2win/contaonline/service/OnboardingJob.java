@@ -0,0 +1,70 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.OnboardingErrorDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado de um job de abertura em massa. É atualizado pela thread do job e lido pela consulta
+ * de progresso; apenas os primeiros {@code limiteErros} erros são guardados com detalhe.
+ */
+@Getter
+public class OnboardingJob {
+
+    public enum Status { PENDENTE, VALIDANDO, GRAVANDO, CONCLUIDO, FALHOU }
+
+    private final String id = UUID.randomUUID().toString();
+    private final LocalDateTime iniciadoEm = LocalDateTime.now();
+    private volatile LocalDateTime concluidoEm;
+    private volatile Status status = Status.PENDENTE;
+    private volatile int totalLinhas;
+    private final AtomicInteger linhasProcessadas = new AtomicInteger();
+    private final AtomicInteger contasAbertas = new AtomicInteger();
+    private final AtomicInteger linhasComErro = new AtomicInteger();
+    private final List<OnboardingErrorDTO> erros = new ArrayList<>();
+    private final int limiteErros;
+
+    OnboardingJob(int limiteErros) {
+        this.limiteErros = limiteErros;
+    }
+
+    void iniciar(Status status, int totalLinhas) {
+        this.totalLinhas = totalLinhas;
+        this.status = status;
+    }
+
+    void avancar(Status status) {
+        this.status = status;
+    }
+
+    void concluir(Status status) {
+        this.concluidoEm = LocalDateTime.now();
+        this.status = status;
+    }
+
+    void registrarAberturas(int quantidade) {
+        contasAbertas.addAndGet(quantidade);
+        linhasProcessadas.addAndGet(quantidade);
+    }
+
+    void registrarErro(int linha, String cpf, String motivo) {
+        linhasComErro.incrementAndGet();
+        linhasProcessadas.incrementAndGet();
+        synchronized (erros) {
+            if (erros.size() < limiteErros) {
+                erros.add(new OnboardingErrorDTO(linha, cpf, motivo));
+            }
+        }
+    }
+
+    public List<OnboardingErrorDTO> getErros() {
+        synchronized (erros) {
+            return new ArrayList<>(erros);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.ClientCreationDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.exception.onboarding.OnboardingFileTooLargeException;
+import com.di2win.contaonline.exception.onboarding.OnboardingJobNotFoundException;
+import com.di2win.contaonline.exception.onboarding.OnboardingQueueFullException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.util.CpfValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abertura em massa de clientes com uma conta cada, a partir de um arquivo CSV
+ * ({@code cpf,nome,dataNascimento}) ou NDJSON (um {@link ClientCreationDTO} por linha).
+ *
+ * O job roda em uma thread própria: valida as linhas em paralelo (CPFs com ou sem máscara,
+ * gravados na forma de 11 dígitos), descarta CPFs repetidos no arquivo e já cadastrados (uma
+ * consulta por lote de CPFs) e grava clientes e contas em transações de
+ * {@code contaonline.onboarding.tamanho-lote} linhas, com inserções em lote. Se a gravação de um
+ * lote falhar, as linhas dele são regravadas uma a uma para isolar a causa.
+ *
+ * O arquivo fica em memória até o job terminar, então o envio é limitado a
+ * {@code contaonline.onboarding.tamanho-maximo} e a fila a
+ * {@code contaonline.onboarding.fila-maxima} jobs à espera; com a fila cheia o envio é recusado.
+ */
+@Service
+public class OnboardingService {
+
+    private static final Logger log = LoggerFactory.getLogger(OnboardingService.class);
+
+    private static final int JOBS_RETIDOS = 100;
+
+    public enum Formato { CSV, NDJSON }
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${contaonline.onboarding.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${contaonline.onboarding.limite-erros-detalhados:1000}")
+    private int limiteErros;
+
+    @Value("${contaonline.onboarding.tamanho-maximo:20MB}")
+    private DataSize tamanhoMaximo;
+
+    @Value("${contaonline.onboarding.fila-maxima:4}")
+    private int filaMaxima;
+
+    private TransactionTemplate transactionTemplate;
+    private ThreadPoolExecutor executor;
+
+    private final Map<String, OnboardingJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, OnboardingJob> eldest) {
+            return size() > JOBS_RETIDOS;
+        }
+    });
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(filaMaxima), runnable -> {
+            Thread thread = new Thread(runnable, "onboarding");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Lê o arquivo do corpo da requisição até {@code contaonline.onboarding.tamanho-maximo}, sem
+     * carregar em memória mais do que o limite.
+     */
+    public OnboardingJob submit(InputStream arquivo, Formato formato) {
+        byte[] conteudo;
+        try {
+            conteudo = arquivo.readNBytes(Math.toIntExact(tamanhoMaximo.toBytes()) + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (conteudo.length > tamanhoMaximo.toBytes()) {
+            throw new OnboardingFileTooLargeException("O arquivo excede o tamanho máximo de " + tamanhoMaximo.toKilobytes() + " KB.");
+        }
+        return submit(conteudo, formato);
+    }
+
+    public OnboardingJob submit(byte[] arquivo, Formato formato) {
+        OnboardingJob job = new OnboardingJob(limiteErros);
+        try {
+            executor.execute(() -> executar(job, arquivo, formato));
+        } catch (RejectedExecutionException e) {
+            throw new OnboardingQueueFullException("Há jobs de abertura demais na fila. Tente novamente mais tarde.");
+        }
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public OnboardingJob getJob(String jobId) {
+        OnboardingJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new OnboardingJobNotFoundException("Job de abertura não encontrado: " + jobId);
+        }
+        return job;
+    }
+
+    private void executar(OnboardingJob job, byte[] arquivo, Formato formato) {
+        try {
+            List<Linha> linhas = lerLinhas(arquivo, formato);
+            job.iniciar(OnboardingJob.Status.VALIDANDO, linhas.size());
+
+            linhas.parallelStream().forEach(linha -> linha.validar(formato));
+            List<Linha> validas = descartarInvalidas(job, linhas);
+            validas = descartarCadastrados(job, validas);
+
+            job.avancar(OnboardingJob.Status.GRAVANDO);
+            for (int inicio = 0; inicio < validas.size(); inicio += tamanhoLote) {
+                gravar(job, validas.subList(inicio, Math.min(inicio + tamanhoLote, validas.size())));
+            }
+            job.concluir(OnboardingJob.Status.CONCLUIDO);
+        } catch (RuntimeException e) {
+            log.error("Falha no job de abertura {}", job.getId(), e);
+            job.concluir(OnboardingJob.Status.FALHOU);
+        }
+    }
+
+    private List<Linha> lerLinhas(byte[] arquivo, Formato formato) {
+        String[] brutas = new String(arquivo, StandardCharsets.UTF_8).split("\r?\n");
+        List<Linha> linhas = new ArrayList<>(brutas.length);
+        for (int i = 0; i < brutas.length; i++) {
+            String bruta = brutas[i];
+            if (bruta.isBlank() || (i == 0 && formato == Formato.CSV && bruta.trim().toLowerCase().startsWith("cpf"))) {
+                continue;
+            }
+            linhas.add(new Linha(i + 1, bruta));
+        }
+        return linhas;
+    }
+
+    private List<Linha> descartarInvalidas(OnboardingJob job, List<Linha> linhas) {
+        Map<String, Integer> vistos = new HashMap<>(linhas.size() * 2);
+        List<Linha> validas = new ArrayList<>(linhas.size());
+        for (Linha linha : linhas) {
+            if (linha.erro != null) {
+                job.registrarErro(linha.numero, linha.cpf, linha.erro);
+                continue;
+            }
+            Integer anterior = vistos.putIfAbsent(linha.cpf, linha.numero);
+            if (anterior != null) {
+                job.registrarErro(linha.numero, linha.cpf, "CPF repetido no arquivo (linha " + anterior + ").");
+                continue;
+            }
+            validas.add(linha);
+        }
+        return validas;
+    }
+
+    private List<Linha> descartarCadastrados(OnboardingJob job, List<Linha> linhas) {
+        Set<String> cadastrados = new HashSet<>();
+        for (int inicio = 0; inicio < linhas.size(); inicio += tamanhoLote) {
+            List<String> cpfs = linhas.subList(inicio, Math.min(inicio + tamanhoLote, linhas.size())).stream()
+                    .map(linha -> linha.cpf)
+                    .toList();
+            cadastrados.addAll(clientRepository.findExistingCpfs(cpfs));
+        }
+
+        if (cadastrados.isEmpty()) {
+            return linhas;
+        }
+        List<Linha> novas = new ArrayList<>(linhas.size());
+        for (Linha linha : linhas) {
+            if (cadastrados.contains(linha.cpf)) {
+                job.registrarErro(linha.numero, linha.cpf, "CPF já cadastrado: " + linha.cpf);
+            } else {
+                novas.add(linha);
+            }
+        }
+        return novas;
+    }
+
+    private void gravar(OnboardingJob job, List<Linha> lote) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> abrir(lote));
+            job.registrarAberturas(lote.size());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} aberturas; regravando linha a linha", lote.size(), e);
+            for (Linha linha : lote) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> abrir(List.of(linha)));
+                    job.registrarAberturas(1);
+                } catch (DataIntegrityViolationException ex) {
+                    if (cpfDuplicado(ex)) {
+                        job.registrarErro(linha.numero, linha.cpf, "CPF já cadastrado: " + linha.cpf);
+                    } else {
+                        log.warn("Falha de integridade ao abrir a conta da linha {}", linha.numero, ex);
+                        job.registrarErro(linha.numero, linha.cpf, "Não foi possível abrir a conta.");
+                    }
+                } catch (RuntimeException ex) {
+                    job.registrarErro(linha.numero, linha.cpf, "Não foi possível abrir a conta.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Se a violação veio da unicidade do CPF (uk_clientes_cpf); o nome da restrição aparece na
+     * mensagem do PostgreSQL e do H2. Outras restrições, como a do número da conta, não são
+     * culpa da linha.
+     */
+    private static boolean cpfDuplicado(DataIntegrityViolationException e) {
+        String mensagem = e.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase().contains("uk_clientes_cpf");
+    }
+
+    private void abrir(List<Linha> lote) {
+        List<Client> clients = new ArrayList<>(lote.size());
+        List<Account> accounts = new ArrayList<>(lote.size());
+        for (Linha linha : lote) {
+            Client client = new Client();
+            client.setCpf(linha.cpf);
+            client.setNome(linha.nome);
+            client.setDataNascimento(linha.dataNascimento);
+            clients.add(client);
+            accounts.add(accountService.newAccount(client));
+        }
+        clientRepository.saveAll(clients);
+        accountRepository.saveAll(accounts);
+    }
+
+    /**
+     * Uma linha do arquivo. É interpretada e validada na etapa paralela; cada instância só é
+     * alterada pela thread que a processa.
+     */
+    private final class Linha {
+
+        private final int numero;
+        private final String bruta;
+        private String cpf;
+        private String nome;
+        private LocalDate dataNascimento;
+        private String erro;
+
+        private Linha(int numero, String bruta) {
+            this.numero = numero;
+            this.bruta = bruta;
+        }
+
+        private void validar(Formato formato) {
+            try {
+                if (formato == Formato.CSV) {
+                    lerCsv();
+                } else {
+                    lerJson();
+                }
+            } catch (IllegalArgumentException e) {
+                erro = e.getMessage();
+                return;
+            }
+
+            CpfValidator.Resultado resultado = CpfValidator.check(cpf);
+            if (resultado != CpfValidator.Resultado.VALIDO) {
+                erro = resultado.getMensagem();
+                return;
+            }
+            cpf = CpfValidator.normalize(cpf);
+            if (nome == null || nome.trim().isEmpty()) {
+                erro = "O nome não pode ser nulo ou vazio.";
+            } else if (dataNascimento == null) {
+                erro = "A data de nascimento não pode ser nula.";
+            }
+        }
+
+        private void lerCsv() {
+            List<String> campos = separarCampos(bruta);
+            if (campos.size() != 3) {
+                throw new IllegalArgumentException("A linha deve ter 3 campos: cpf, nome e dataNascimento.");
+            }
+            cpf = campos.get(0).trim();
+            nome = campos.get(1).trim();
+            String data = campos.get(2).trim();
+            try {
+                dataNascimento = data.isEmpty() ? null : LocalDate.parse(data);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Data de nascimento inválida: " + data);
+            }
+        }
+
+        private void lerJson() {
+            ClientCreationDTO dto;
+            try {
+                dto = objectMapper.readValue(bruta, ClientCreationDTO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Linha JSON inválida.");
+            }
+            cpf = dto.getCpf();
+            nome = dto.getNome();
+            dataNascimento = dto.getDataNascimento();
+        }
+    }
+
+    /**
+     * Separa uma linha CSV por vírgulas, respeitando campos entre aspas duplas (com {@code ""}
+     * representando uma aspa dentro do campo).
+     */
+    static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>(3);
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,148 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.TransactionBatchItemDTO;
+import com.di2win.contaonline.dto.TransactionBatchResponseDTO;
+import com.di2win.contaonline.dto.TransactionBatchResultDTO;
+import com.di2win.contaonline.exception.account.ConcurrentMovementException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Importa lotes de movimentações de várias contas. As movimentações são agrupadas por conta
+ * (mantendo a ordem de chegada dentro de cada conta) e aplicadas em transações de até
+ * {@code contaonline.lote.movimentacoes-por-transacao} itens, via
+ * {@link AccountService#applyMovements}. As contas são bloqueadas em ordem crescente de id,
+ * então lotes concorrentes não entram em deadlock entre si.
+ *
+ * Cada item recebe o seu próprio resultado; se uma transação inteira falhar, as contas dela são
+ * refeitas uma a uma e apenas os itens das contas que ainda falharem são recusados. As transações
+ * anteriores continuam confirmadas.
+ */
+@Service
+public class TransactionBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionBatchService.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${contaonline.lote.tamanho-maximo:50000}")
+    private int tamanhoMaximo;
+
+    @Value("${contaonline.lote.movimentacoes-por-transacao:1000}")
+    private int movimentacoesPorTransacao;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TransactionBatchResponseDTO importar(List<TransactionBatchItemDTO> itens) {
+        if (itens.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("O lote deve ter no máximo " + tamanhoMaximo + " movimentações.");
+        }
+
+        Map<Long, List<Integer>> porConta = new TreeMap<>();
+        for (int i = 0; i < itens.size(); i++) {
+            porConta.computeIfAbsent(itens.get(i).getAccountId(), id -> new ArrayList<>()).add(i);
+        }
+
+        TransactionBatchResultDTO[] resultados = new TransactionBatchResultDTO[itens.size()];
+        Map<Long, List<Integer>> grupo = new LinkedHashMap<>();
+        int tamanhoGrupo = 0;
+        for (Map.Entry<Long, List<Integer>> entry : porConta.entrySet()) {
+            grupo.put(entry.getKey(), entry.getValue());
+            tamanhoGrupo += entry.getValue().size();
+            if (tamanhoGrupo >= movimentacoesPorTransacao) {
+                aplicar(grupo, itens, resultados);
+                grupo.clear();
+                tamanhoGrupo = 0;
+            }
+        }
+        if (!grupo.isEmpty()) {
+            aplicar(grupo, itens, resultados);
+        }
+
+        int aplicadas = (int) Arrays.stream(resultados).filter(TransactionBatchResultDTO::isSucesso).count();
+        return new TransactionBatchResponseDTO(aplicadas, resultados.length - aplicadas, Arrays.asList(resultados));
+    }
+
+    /**
+     * Aplica o grupo de contas em uma transação. Se ela falhar, cada conta é refeita na sua própria
+     * transação (com as novas tentativas do livro-razão em caso de conflito), e só os itens das
+     * contas que ainda falharem são recusados.
+     */
+    private void aplicar(Map<Long, List<Integer>> grupo, List<TransactionBatchItemDTO> itens,
+                         TransactionBatchResultDTO[] resultados) {
+        Map<Long, List<MovementResult>> aplicados;
+        try {
+            aplicados = transactionTemplate.execute(status -> {
+                Map<Long, List<MovementResult>> porConta = new LinkedHashMap<>();
+                grupo.forEach((accountId, indices) -> porConta.put(accountId, applyMovements(accountId, indices, itens)));
+                return porConta;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Falha ao aplicar transação do lote com {} contas; refazendo conta a conta", grupo.size(), e);
+            grupo.forEach((accountId, indices) -> aplicarConta(accountId, indices, itens, resultados));
+            return;
+        }
+
+        grupo.forEach((accountId, indices) -> registrar(accountId, indices, aplicados.get(accountId), resultados));
+    }
+
+    private void aplicarConta(Long accountId, List<Integer> indices, List<TransactionBatchItemDTO> itens,
+                              TransactionBatchResultDTO[] resultados) {
+        List<MovementResult> aplicados;
+        try {
+            aplicados = ledgerService.repetirEmConflito(
+                    () -> transactionTemplate.execute(status -> applyMovements(accountId, indices, itens)));
+        } catch (RuntimeException e) {
+            log.error("Falha ao aplicar {} movimentações do lote na conta {}", indices.size(), accountId, e);
+            String mensagem = e instanceof ConcurrentMovementException
+                    ? e.getMessage()
+                    : "Falha ao aplicar a movimentação. Tente novamente.";
+            indices.forEach(indice -> resultados[indice] = new TransactionBatchResultDTO(indice, accountId, false, null, mensagem));
+            return;
+        }
+        registrar(accountId, indices, aplicados, resultados);
+    }
+
+    private List<MovementResult> applyMovements(Long accountId, List<Integer> indices, List<TransactionBatchItemDTO> itens) {
+        List<AccountMovement> movements = indices.stream()
+                .map(indice -> new AccountMovement(itens.get(indice).getTipo(), itens.get(indice).getValor()))
+                .toList();
+        return accountService.applyMovements(accountId, movements);
+    }
+
+    private static void registrar(Long accountId, List<Integer> indices, List<MovementResult> aplicados,
+                                  TransactionBatchResultDTO[] resultados) {
+        for (int i = 0; i < indices.size(); i++) {
+            int indice = indices.get(i);
+            MovementResult resultado = aplicados.get(i);
+            resultados[indice] = resultado.isSucesso()
+                    ? new TransactionBatchResultDTO(indice, accountId, true, resultado.getConta().getSaldo(), null)
+                    : new TransactionBatchResultDTO(indice, accountId, false, null, resultado.getErro().getMessage());
+        }
+    }
+}
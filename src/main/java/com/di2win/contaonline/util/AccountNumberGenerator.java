@@ -1,21 +1,107 @@
 package com.di2win.contaonline.util;
 
 import com.di2win.contaonline.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Gera números de conta de 8 dígitos: 7 dígitos de base e um dígito verificador (módulo 11).
+ *
+ * As bases vêm da sequência contas_numero_seq em blocos de {@link #TAMANHO_BLOCO}: cada instância
+ * reserva um bloco com uma única chamada ao banco e entrega os números dele em memória, então
+ * instâncias diferentes nunca geram o mesmo número. Ao reservar o bloco, uma consulta descarta
+ * os números que já existem (contas criadas pelo gerador aleatório antigo).
+ */
 @Component
 public class AccountNumberGenerator {
 
-    public String generateUniqueAccountNumber(AccountRepository accountRepository) {
-        Random random = new Random();
-        String numeroConta;
+    static final int TAMANHO_BLOCO = 100;
 
-        do {
-            numeroConta = String.format("%08d", random.nextInt(100000000));
-        } while (accountRepository.findByNumeroConta(numeroConta).isPresent());
+    private static final long MAIOR_BASE = 9_999_999L;
 
-        return numeroConta;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String proximoBlocoSql;
+
+    // lock em vez de synchronized: a reserva do bloco vai ao banco e, em Java 21, uma thread
+    // virtual bloqueada dentro de synchronized prende a thread de plataforma que a executa
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<String> disponiveis = new ArrayList<>(TAMANHO_BLOCO);
+    private int posicao;
+
+    @PostConstruct
+    void start() {
+        proximoBlocoSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString("contas_numero_seq");
+    }
+
+    public String nextAccountNumber() {
+        lock.lock();
+        try {
+            while (posicao == disponiveis.size()) {
+                reservarBloco();
+            }
+            return disponiveis.get(posicao++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reservarBloco() {
+        Long inicio = jdbcTemplate.queryForObject(proximoBlocoSql, Long.class);
+        if (inicio == null || inicio > MAIOR_BASE) {
+            throw new IllegalStateException("Faixa de números de conta esgotada.");
+        }
+
+        long fim = Math.min(inicio + TAMANHO_BLOCO - 1, MAIOR_BASE);
+        List<String> candidatos = new ArrayList<>(TAMANHO_BLOCO);
+        for (long base = inicio; base <= fim; base++) {
+            candidatos.add(formatar(base));
+        }
+
+        Set<String> existentes = new HashSet<>(accountRepository.findExistingNumerosConta(candidatos));
+        disponiveis.clear();
+        posicao = 0;
+        for (String candidato : candidatos) {
+            if (!existentes.contains(candidato)) {
+                disponiveis.add(candidato);
+            }
+        }
+    }
+
+    /**
+     * Número de conta completo (base com 7 dígitos seguida do dígito verificador).
+     */
+    public static String formatar(long base) {
+        return String.format("%07d%d", base, digitoVerificador(base));
+    }
+
+    static int digitoVerificador(long base) {
+        int soma = 0;
+        int peso = 2;
+        for (long resto = base; resto > 0; resto /= 10) {
+            soma += (int) (resto % 10) * peso;
+            peso = peso == 9 ? 2 : peso + 1;
+        }
+        int digito = 11 - (soma % 11);
+        return digito >= 10 ? 0 : digito;
     }
 }
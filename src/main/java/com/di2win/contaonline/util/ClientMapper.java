@@ -1,8 +1,12 @@
 package com.di2win.contaonline.util;
 
+import com.di2win.contaonline.dto.ClientAccountSummaryDTO;
+import com.di2win.contaonline.dto.ClientPortfolioDTO;
 import com.di2win.contaonline.dto.ClientResponseDTO;
 import com.di2win.contaonline.entity.Client;
 
+import java.util.List;
+
 public class ClientMapper {
 
     public static ClientResponseDTO mapToClientResponseDTO(Client client) {
@@ -14,4 +18,15 @@ public class ClientMapper {
 
         return responseDTO;
     }
+
+    public static ClientPortfolioDTO mapToClientPortfolioDTO(Client client, List<ClientAccountSummaryDTO> contas) {
+        ClientPortfolioDTO portfolioDTO = new ClientPortfolioDTO();
+        portfolioDTO.setId(client.getId());
+        portfolioDTO.setCpf(client.getCpf());
+        portfolioDTO.setNome(client.getNome());
+        portfolioDTO.setDataNascimento(client.getDataNascimento());
+        portfolioDTO.setContas(contas);
+
+        return portfolioDTO;
+    }
 }
@@ -2,47 +2,180 @@ package com.di2win.contaonline.util;
 
 import com.di2win.contaonline.exception.cpf.InvalidCpfFormatException;
 
+/**
+ * Validação de CPF sem alocação: {@link #check(CharSequence)} percorre a entrada uma única vez,
+ * acumulando as somas dos dois dígitos verificadores, e devolve um {@link Resultado} em vez de
+ * lançar exceção, para uso nos caminhos em massa. Aceita o CPF só com dígitos ou com a máscara
+ * {@code 000.000.000-00}, ignorando espaços nas pontas.
+ */
 public class CpfValidator {
 
+    private static final int DIGITOS = 11;
+    private static final int TAMANHO_COM_MASCARA = 14;
+
+    public enum Resultado {
+        VALIDO(null),
+        NULO_OU_VAZIO("O CPF não pode ser nulo ou vazio."),
+        TAMANHO_INVALIDO("O CPF deve conter 11 dígitos."),
+        CARACTERE_INVALIDO("O CPF deve conter apenas dígitos, com ou sem a máscara 000.000.000-00."),
+        DIGITOS_IGUAIS("O CPF não pode conter todos os dígitos iguais."),
+        PRIMEIRO_DIGITO_INVALIDO("O primeiro dígito verificador do CPF é inválido."),
+        SEGUNDO_DIGITO_INVALIDO("O segundo dígito verificador do CPF é inválido.");
+
+        private final String mensagem;
+
+        Resultado(String mensagem) {
+            this.mensagem = mensagem;
+        }
+
+        public String getMensagem() {
+            return mensagem;
+        }
+    }
+
     private CpfValidator() {}
 
     public static void validate(String cpf) {
-        if (cpf == null || cpf.isEmpty()) {
-            throw new InvalidCpfFormatException("O CPF não pode ser nulo ou vazio.");
+        Resultado resultado = check(cpf);
+        if (resultado != Resultado.VALIDO) {
+            throw new InvalidCpfFormatException(resultado.getMensagem());
         }
+    }
 
-        if (cpf.length() != 11) {
-            throw new InvalidCpfFormatException("O CPF deve conter 11 dígitos.");
+    public static Resultado check(CharSequence cpf) {
+        if (cpf == null) {
+            return Resultado.NULO_OU_VAZIO;
         }
+        int inicio = inicio(cpf);
+        int fim = fim(cpf, inicio);
+        int tamanho = fim - inicio;
+        if (tamanho == 0) {
+            return Resultado.NULO_OU_VAZIO;
+        }
+        if (tamanho != DIGITOS && tamanho != TAMANHO_COM_MASCARA) {
+            return Resultado.TAMANHO_INVALIDO;
+        }
+        boolean mascarado = tamanho == TAMANHO_COM_MASCARA;
 
-        if (cpf.chars().distinct().count() == 1) {
-            throw new InvalidCpfFormatException("O CPF não pode conter todos os dígitos iguais.");
+        int primeiro = 0;
+        int somaPrimeiro = 0;
+        int somaSegundo = 0;
+        int primeiroVerificador = 0;
+        int segundoVerificador = 0;
+        boolean todosIguais = true;
+        int digito = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = cpf.charAt(i);
+            if (mascarado && ehPosicaoDaMascara(i - inicio)) {
+                if (c != caractereDaMascara(i - inicio)) {
+                    return Resultado.CARACTERE_INVALIDO;
+                }
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return Resultado.CARACTERE_INVALIDO;
+            }
+            int valor = c - '0';
+            if (digito == 0) {
+                primeiro = valor;
+            } else if (valor != primeiro) {
+                todosIguais = false;
+            }
+            if (digito < 9) {
+                somaPrimeiro += valor * (10 - digito);
+                somaSegundo += valor * (11 - digito);
+            } else if (digito == 9) {
+                primeiroVerificador = valor;
+                somaSegundo += valor * 2;
+            } else {
+                segundoVerificador = valor;
+            }
+            digito++;
         }
 
-        int sum = 0;
-        for (int i = 0; i < 9; i++) {
-            sum += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+        if (todosIguais) {
+            return Resultado.DIGITOS_IGUAIS;
+        }
+        if (verificador(somaPrimeiro) != primeiroVerificador) {
+            return Resultado.PRIMEIRO_DIGITO_INVALIDO;
         }
-        int firstVerifier = 11 - (sum % 11);
-        if (firstVerifier >= 10) {
-            firstVerifier = 0;
+        if (verificador(somaSegundo) != segundoVerificador) {
+            return Resultado.SEGUNDO_DIGITO_INVALIDO;
         }
+        return Resultado.VALIDO;
+    }
 
-        if (firstVerifier != Character.getNumericValue(cpf.charAt(9))) {
-            throw new InvalidCpfFormatException("O primeiro dígito verificador do CPF é inválido.");
+    /**
+     * Forma canônica (11 dígitos) de um CPF com ou sem máscara, ou {@code null} se a entrada não
+     * tiver nenhum dos dois formatos. Não confere os dígitos verificadores. Uma String que já está
+     * na forma canônica é devolvida sem cópia.
+     */
+    public static String normalize(CharSequence cpf) {
+        if (cpf == null) {
+            return null;
+        }
+        int inicio = inicio(cpf);
+        int fim = fim(cpf, inicio);
+        int tamanho = fim - inicio;
+        if (tamanho != DIGITOS && tamanho != TAMANHO_COM_MASCARA) {
+            return null;
+        }
+        if (tamanho == DIGITOS) {
+            for (int i = inicio; i < fim; i++) {
+                char c = cpf.charAt(i);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+            }
+            if (cpf instanceof String texto && tamanho == texto.length()) {
+                return texto;
+            }
+            return cpf.subSequence(inicio, fim).toString();
         }
 
-        sum = 0;
-        for (int i = 0; i < 10; i++) {
-            sum += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+        char[] digitos = new char[DIGITOS];
+        int digito = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = cpf.charAt(i);
+            if (ehPosicaoDaMascara(i - inicio)) {
+                if (c != caractereDaMascara(i - inicio)) {
+                    return null;
+                }
+            } else if (c < '0' || c > '9') {
+                return null;
+            } else {
+                digitos[digito++] = c;
+            }
         }
-        int secondVerifier = 11 - (sum % 11);
-        if (secondVerifier >= 10) {
-            secondVerifier = 0;
+        return new String(digitos);
+    }
+
+    private static int inicio(CharSequence cpf) {
+        int inicio = 0;
+        while (inicio < cpf.length() && Character.isWhitespace(cpf.charAt(inicio))) {
+            inicio++;
         }
+        return inicio;
+    }
 
-        if (secondVerifier != Character.getNumericValue(cpf.charAt(10))) {
-            throw new InvalidCpfFormatException("O segundo dígito verificador do CPF é inválido.");
+    private static int fim(CharSequence cpf, int inicio) {
+        int fim = cpf.length();
+        while (fim > inicio && Character.isWhitespace(cpf.charAt(fim - 1))) {
+            fim--;
         }
+        return fim;
+    }
+
+    private static boolean ehPosicaoDaMascara(int posicao) {
+        return posicao == 3 || posicao == 7 || posicao == 11;
+    }
+
+    private static char caractereDaMascara(int posicao) {
+        return posicao == 11 ? '-' : '.';
+    }
+
+    private static int verificador(int soma) {
+        int digito = 11 - (soma % 11);
+        return digito >= 10 ? 0 : digito;
     }
 }
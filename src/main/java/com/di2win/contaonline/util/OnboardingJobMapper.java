@@ -0,0 +1,22 @@
+package com.di2win.contaonline.util;
+
+import com.di2win.contaonline.dto.OnboardingJobDTO;
+import com.di2win.contaonline.service.OnboardingJob;
+
+public class OnboardingJobMapper {
+
+    public static OnboardingJobDTO mapToOnboardingJobDTO(OnboardingJob job) {
+        OnboardingJobDTO responseDTO = new OnboardingJobDTO();
+        responseDTO.setId(job.getId());
+        responseDTO.setStatus(job.getStatus().name());
+        responseDTO.setTotalLinhas(job.getTotalLinhas());
+        responseDTO.setLinhasProcessadas(job.getLinhasProcessadas().get());
+        responseDTO.setContasAbertas(job.getContasAbertas().get());
+        responseDTO.setLinhasComErro(job.getLinhasComErro().get());
+        responseDTO.setIniciadoEm(job.getIniciadoEm());
+        responseDTO.setConcluidoEm(job.getConcluidoEm());
+        responseDTO.setErros(job.getErros());
+
+        return responseDTO;
+    }
+}
@@ -0,0 +1,47 @@
+package com.di2win.contaonline.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação do extrato: posição (dataHora, id) da última transação entregue,
+ * codificada em Base64 URL-safe.
+ */
+public class TransactionCursor {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime dataHora;
+    private final Long id;
+
+    public TransactionCursor(LocalDateTime dataHora, Long id) {
+        this.dataHora = dataHora;
+        this.id = id;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String valor = dataHora + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new TransactionCursor(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+    }
+}
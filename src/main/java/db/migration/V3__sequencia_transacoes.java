@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Troca a identity de transacoes.id por uma sequência com incremento 50, para o Hibernate
+ * reservar ids em blocos (otimizador pooled) e poder agrupar as inserções em lotes JDBC.
+ *
+ * Escrita em Java porque o valor inicial depende do maior id existente e a sintaxe do default
+ * muda entre PostgreSQL e H2. O default da coluna passa a ser a própria sequência: uma inserção
+ * direta consome um valor inteiro, que nunca é o limite de um bloco entregue ao Hibernate.
+ */
+public class V3__sequencia_transacoes extends BaseJavaMigration {
+
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+
+        try (Statement statement = connection.createStatement()) {
+            long maiorId;
+            try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from transacoes")) {
+                resultSet.next();
+                maiorId = resultSet.getLong(1);
+            }
+
+            // O pooled trata o valor lido como o fim do bloco: começar em maiorId + 50 entrega maiorId + 1 em diante.
+            statement.execute("create sequence transacoes_seq start with " + (maiorId + INCREMENTO)
+                    + " increment by " + INCREMENTO);
+            statement.execute("alter table transacoes alter column id drop identity");
+            statement.execute("alter table transacoes alter column id set default "
+                    + (postgres ? "nextval('transacoes_seq')" : "next value for transacoes_seq"));
+        }
+    }
+}
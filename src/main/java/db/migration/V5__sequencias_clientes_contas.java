@@ -0,0 +1,40 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Mesma troca da V3, agora para clientes e contas: ids de sequências com incremento 50, para
+ * que as aberturas em massa sejam gravadas com inserções em lote.
+ */
+public class V5__sequencias_clientes_contas extends BaseJavaMigration {
+
+    private static final int INCREMENTO = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+
+        try (Statement statement = connection.createStatement()) {
+            for (String tabela : new String[]{"clientes", "contas"}) {
+                String sequencia = tabela + "_seq";
+                long maiorId;
+                try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) from " + tabela)) {
+                    resultSet.next();
+                    maiorId = resultSet.getLong(1);
+                }
+
+                statement.execute("create sequence " + sequencia + " start with " + (maiorId + INCREMENTO)
+                        + " increment by " + INCREMENTO);
+                statement.execute("alter table " + tabela + " alter column id drop identity");
+                statement.execute("alter table " + tabela + " alter column id set default "
+                        + (postgres ? "nextval('" + sequencia + "')" : "next value for " + sequencia));
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Default de eventos_saida.id na própria sequência, como a V3 fez para transacoes: o módulo
+ * reativo grava eventos sem o Hibernate, e cada inserção direta consome um bloco inteiro da
+ * sequência, sem colidir com os ids reservados pela aplicação principal.
+ */
+public class V9__default_eventos_saida extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table eventos_saida alter column id set default "
+                    + (postgres ? "nextval('eventos_saida_seq')" : "next value for eventos_saida_seq"));
+        }
+    }
+}
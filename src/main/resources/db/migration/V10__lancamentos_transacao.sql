@@ -0,0 +1,3 @@
+-- Cada transação tem no máximo um lançamento. O índice atende à busca de transações gravadas fora
+-- do livro-razão (com o modo desligado) e à remoção em cascata a partir de transacoes.
+create unique index uk_lancamentos_transacao on lancamentos (transacao_id);
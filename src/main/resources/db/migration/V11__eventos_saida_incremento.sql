@@ -0,0 +1,4 @@
+-- Ids de eventos um a um: cada id é tirado da sequência depois do bloqueio da conta, então os
+-- eventos de uma conta crescem na ordem de commit mesmo com várias instâncias (e o módulo reativo)
+-- gravando nela. Os blocos já reservados com o incremento 50 ficam abaixo do próximo valor.
+alter sequence eventos_saida_seq increment by 1;
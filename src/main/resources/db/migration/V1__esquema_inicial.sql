@@ -0,0 +1,35 @@
+-- Esquema equivalente ao que era gerado pelo Hibernate com ddl-auto=update.
+-- Bancos já existentes são registrados com baseline nesta versão e recebem apenas as migrações seguintes.
+
+create table clientes (
+    id              bigint generated by default as identity,
+    cpf             varchar(255) not null,
+    nome            varchar(255) not null,
+    data_nascimento date         not null,
+    constraint pk_clientes primary key (id),
+    constraint uk_clientes_cpf unique (cpf)
+);
+
+create table contas (
+    id                  bigint generated by default as identity,
+    numero_conta        varchar(255)   not null,
+    agencia             varchar(255)   not null,
+    saldo               numeric(38, 2) not null,
+    limite_diario_saque numeric(38, 2) not null,
+    bloqueada           boolean        not null,
+    cliente_id          bigint         not null,
+    constraint pk_contas primary key (id),
+    constraint uk_contas_numero_conta unique (numero_conta),
+    constraint fk_contas_cliente foreign key (cliente_id) references clientes (id)
+);
+
+create table transacoes (
+    id        bigint generated by default as identity,
+    valor     numeric(38, 2) not null,
+    data_hora timestamp(6)   not null,
+    tipo      varchar(255)   not null,
+    conta_id  bigint         not null,
+    constraint pk_transacoes primary key (id),
+    constraint ck_transacoes_tipo check (tipo in ('DEPOSITO', 'SAQUE')),
+    constraint fk_transacoes_conta foreign key (conta_id) references contas (id)
+);
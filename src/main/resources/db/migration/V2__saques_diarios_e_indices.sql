@@ -0,0 +1,21 @@
+-- Acumulado diário de saques; pode já existir em bancos que rodaram com ddl-auto=update
+create table if not exists saques_diarios (
+    id       bigint generated by default as identity,
+    conta_id bigint         not null,
+    data     date           not null,
+    total    numeric(38, 2) not null,
+    constraint pk_saques_diarios primary key (id),
+    constraint uk_saques_diarios_conta_data unique (conta_id, data)
+);
+
+-- Extrato por período e verificação de histórico da conta
+create index idx_transacoes_conta_data_hora on transacoes (conta_id, data_hora);
+
+-- Soma dos saques do dia (tipo = 'SAQUE') usada para iniciar o acumulado diário
+create index idx_transacoes_conta_tipo_data_hora on transacoes (conta_id, tipo, data_hora);
+
+-- Contas de um cliente
+create index idx_contas_cliente on contas (cliente_id);
+
+alter table saques_diarios
+    add constraint fk_saques_diarios_conta foreign key (conta_id) references contas (id) on delete cascade;
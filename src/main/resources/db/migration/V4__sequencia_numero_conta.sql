@@ -0,0 +1,4 @@
+-- Blocos de números de conta: cada valor da sequência é o primeiro número base (7 dígitos) de um
+-- bloco de 100, reservado por uma instância da aplicação. O incremento deve acompanhar
+-- AccountNumberGenerator.TAMANHO_BLOCO.
+create sequence contas_numero_seq start with 1 increment by 100;
@@ -0,0 +1,41 @@
+-- Saldo de fechamento e totais do dia por conta, consolidados a partir de transacoes pelo
+-- BalanceSnapshotService. Só existem linhas para os dias em que a conta teve movimentação.
+create sequence saldos_diarios_seq start with 1 increment by 50;
+
+create table saldos_diarios (
+    id              bigint         not null,
+    conta_id        bigint         not null,
+    data            date           not null,
+    saldo_final     numeric(38, 2) not null,
+    total_depositos numeric(38, 2) not null,
+    total_saques    numeric(38, 2) not null,
+    constraint pk_saldos_diarios primary key (id),
+    constraint fk_saldos_diarios_conta foreign key (conta_id) references contas (id) on delete cascade
+);
+
+-- Unicidade por conta e dia; a ordem decrescente atende à busca do último saldo antes de uma data
+create unique index uk_saldos_diarios_conta_data on saldos_diarios (conta_id, data desc);
+
+-- Último saldo diário de cada conta, lido por chave ao abrir o saldo de um novo dia
+create table saldos_consolidados (
+    conta_id    bigint         not null,
+    data        date           not null,
+    saldo_final numeric(38, 2) not null,
+    constraint pk_saldos_consolidados primary key (conta_id),
+    constraint fk_saldos_consolidados_conta foreign key (conta_id) references contas (id) on delete cascade
+);
+
+-- Marca d'água da consolidação: transações com data_hora anterior a processado_ate já estão em
+-- saldos_diarios. Começa no primeiro dia com transações, para que o job consolide o histórico.
+create table snapshots_controle (
+    nome           varchar(64)  not null,
+    processado_ate timestamp(6) not null,
+    constraint pk_snapshots_controle primary key (nome)
+);
+
+insert into snapshots_controle (nome, processado_ate)
+select 'saldos_diarios', coalesce(cast(cast(min(data_hora) as date) as timestamp), cast(current_date as timestamp))
+from transacoes;
+
+-- Leitura das transações novas de todas as contas por faixa de data_hora
+create index idx_transacoes_data_hora on transacoes (data_hora);
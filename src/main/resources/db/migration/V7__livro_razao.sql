@@ -0,0 +1,34 @@
+-- Livro-razão: cada movimentação gera um lançamento imutável com a sequência da conta, o saldo
+-- corrente e o acumulado de saques do dia. A contrapartida de depósitos e saques é o caixa.
+create sequence lancamentos_seq start with 1 increment by 50;
+
+create table lancamentos (
+    id            bigint         not null,
+    conta_id      bigint         not null,
+    sequencia     bigint         not null,
+    tipo          varchar(255)   not null,
+    contrapartida varchar(32)    not null,
+    valor         numeric(38, 2) not null,
+    saldo         numeric(38, 2) not null,
+    saques_dia    numeric(38, 2) not null,
+    data_hora     timestamp(6)   not null,
+    transacao_id  bigint         not null,
+    constraint pk_lancamentos primary key (id),
+    constraint ck_lancamentos_tipo check (tipo in ('DEPOSITO', 'SAQUE')),
+    constraint fk_lancamentos_conta foreign key (conta_id) references contas (id) on delete cascade,
+    constraint fk_lancamentos_transacao foreign key (transacao_id) references transacoes (id) on delete cascade
+);
+
+-- Dois lançamentos concorrentes com a mesma sequência: um deles falha e é refeito sobre o novo
+-- último lançamento. A ordem decrescente atende à leitura do último lançamento da conta.
+create unique index uk_lancamentos_conta_sequencia on lancamentos (conta_id, sequencia desc);
+
+-- Até onde o livro-razão de cada conta já foi verificado
+create table lancamentos_checkpoints (
+    conta_id      bigint         not null,
+    sequencia     bigint         not null,
+    saldo         numeric(38, 2) not null,
+    verificado_em timestamp(6)   not null,
+    constraint pk_lancamentos_checkpoints primary key (conta_id),
+    constraint fk_lancamentos_checkpoints_conta foreign key (conta_id) references contas (id) on delete cascade
+);
@@ -0,0 +1,17 @@
+-- Outbox transacional: um evento por depósito ou saque, gravado na mesma transação da movimentação
+-- e removido depois de entregue aos destinos. Sem chave estrangeira: o evento é uma mensagem e não
+-- deve impedir a remoção da conta nem da transação.
+create sequence eventos_saida_seq start with 1 increment by 50;
+
+create table eventos_saida (
+    id           bigint         not null,
+    conta_id     bigint         not null,
+    transacao_id bigint         not null,
+    tipo         varchar(255)   not null,
+    valor        numeric(38, 2) not null,
+    saldo        numeric(38, 2) not null,
+    data_hora    timestamp(6)   not null,
+    criado_em    timestamp(6)   not null,
+    constraint pk_eventos_saida primary key (id),
+    constraint ck_eventos_saida_tipo check (tipo in ('DEPOSITO', 'SAQUE'))
+);
@@ -0,0 +1,138 @@
+package com.di2win.contaonline.cache;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.DailyWithdrawalRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.service.AccountService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BalanceCacheTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyWithdrawalRepository dailyWithdrawalRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+
+        Client client = new Client();
+        client.setNome("Cliente Cache");
+        client.setCpf("71428793860");
+        client.setDataNascimento(LocalDate.of(1988, 8, 8));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000301");
+        account.setSaldo(BigDecimal.valueOf(500));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+    }
+
+    private void limpar() {
+        dailyWithdrawalRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testRepeatedReadsHitCache() {
+        assertTrue(balanceCache.isEnabled());
+        long hits = balanceCache.stats().hitCount();
+
+        accountService.getBalance(account.getId());
+        accountService.getBalance(account.getId());
+        accountService.getBalance(account.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(hits + 2, balanceCache.stats().hitCount());
+    }
+
+    @Test
+    void testDepositAndWithdrawInvalidateAfterCommit() {
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(accountService.getBalance(account.getId()).getSaldo()));
+
+        accountService.deposit(account.getId(), BigDecimal.valueOf(100));
+        assertEquals(0, BigDecimal.valueOf(600).compareTo(accountService.getBalance(account.getId()).getSaldo()));
+
+        accountService.withdraw(account.getId(), BigDecimal.valueOf(50));
+        assertEquals(0, BigDecimal.valueOf(550).compareTo(accountService.getBalance(account.getId()).getSaldo()));
+    }
+
+    @Test
+    void testBlockAndUnblockInvalidateAfterCommit() {
+        assertEquals(false, accountService.getBalance(account.getId()).isBloqueada());
+
+        accountService.blockAccount(account.getId());
+        assertEquals(true, accountService.getBalance(account.getId()).isBloqueada());
+
+        accountService.unblockAccount(account.getId());
+        assertEquals(false, accountService.getBalance(account.getId()).isBloqueada());
+    }
+
+    @Test
+    void testRolledBackWithdrawalKeepsCachedBalance() {
+        accountService.getBalance(account.getId());
+        long misses = balanceCache.stats().missCount();
+
+        assertThrows(InsufficientBalanceException.class,
+                () -> accountService.withdraw(account.getId(), BigDecimal.valueOf(900)));
+
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(accountService.getBalance(account.getId()).getSaldo()));
+        assertEquals(misses, balanceCache.stats().missCount());
+    }
+}
@@ -2,12 +2,18 @@ package com.di2win.contaonline.controller;
 
 import com.di2win.contaonline.dto.AccountCreationDTO;
 import com.di2win.contaonline.dto.DepositDTO;
+import com.di2win.contaonline.dto.TransactionBatchDTO;
+import com.di2win.contaonline.dto.TransactionBatchItemDTO;
+import com.di2win.contaonline.dto.TransactionPageDTO;
 import com.di2win.contaonline.dto.WithdrawalDTO;
 import com.di2win.contaonline.entity.Account;
 import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.Transaction;
+import com.di2win.contaonline.entity.TransactionType;
 import com.di2win.contaonline.repository.AccountRepository;
 import com.di2win.contaonline.repository.ClientRepository;
 import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.service.BalanceSnapshotService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,9 +23,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +52,9 @@ public class AccountControllerTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -113,6 +126,37 @@ public class AccountControllerTest {
                 .andExpect(content().string("Conta não encontrada: 999"));
     }
 
+    @Test
+    public void testGetBalanceAtInstant() throws Exception {
+        LocalDate dia = LocalDate.now().minusDays(2);
+        Account account = criarContaComTransacoes(4, dia.atTime(10, 0));
+        balanceSnapshotService.reconstruir();
+
+        mockMvc.perform(get("/api/accounts/{accountId}/balance", account.getId())
+                        .param("at", dia.atTime(10, 0, 30).toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("21.00"));
+    }
+
+    @Test
+    public void testGetDailyBalances() throws Exception {
+        LocalDate dia = LocalDate.now().minusDays(2);
+        Account account = criarContaComTransacoes(4, dia.atTime(10, 0));
+        balanceSnapshotService.reconstruir();
+
+        mockMvc.perform(get("/api/accounts/{accountId}/balance/daily", account.getId())
+                        .param("start", dia.minusDays(1).toString())
+                        .param("end", dia.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].saldoFinal").value(0))
+                .andExpect(jsonPath("$[1].data").value(dia.toString()))
+                .andExpect(jsonPath("$[1].saldoFinal").value(46.0))
+                .andExpect(jsonPath("$[1].totalDepositos").value(46.0))
+                .andExpect(jsonPath("$[2].saldoFinal").value(46.0))
+                .andExpect(jsonPath("$[2].totalDepositos").value(0));
+    }
+
     @Test
     public void testDepositSuccess() throws Exception {
         Account account = new Account();
@@ -279,4 +323,143 @@ public class AccountControllerTest {
         boolean exists = accountRepository.existsById(account.getId());
         assert !exists;
     }
+
+    private Account criarContaComTransacoes(int quantidade, LocalDateTime inicio) {
+        Account account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000001");
+        account.setSaldo(BigDecimal.valueOf(500));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+
+        for (int i = 0; i < quantidade; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setConta(account);
+            transaction.setValor(BigDecimal.valueOf(10 + i));
+            transaction.setTipo(TransactionType.DEPOSITO);
+            // pares de transações no mesmo horário exercitam o desempate por id
+            transaction.setDataHora(inicio.plusMinutes(i / 2));
+            transactionRepository.save(transaction);
+        }
+        return account;
+    }
+
+    @Test
+    public void testTransactionPageFollowsCursorUntilTheEnd() throws Exception {
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 10, 10, 0);
+        Account account = criarContaComTransacoes(5, inicio);
+
+        List<Integer> valores = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var request = get("/api/accounts/{accountId}/transactions/page", account.getId())
+                    .param("start", "2024-01-01T00:00:00")
+                    .param("end", "2024-01-31T23:59:59")
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String json = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            TransactionPageDTO pagina = objectMapper.readValue(json, TransactionPageDTO.class);
+            pagina.getTransacoes().forEach(transaction -> valores.add(transaction.getValor().intValue()));
+            cursor = pagina.getNext();
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(3, paginas);
+        assertEquals(List.of(10, 11, 12, 13, 14), valores);
+    }
+
+    @Test
+    public void testTransactionPageInvalidCursor() throws Exception {
+        Account account = criarContaComTransacoes(1, LocalDateTime.of(2024, 1, 10, 10, 0));
+
+        mockMvc.perform(get("/api/accounts/{accountId}/transactions/page", account.getId())
+                        .param("start", "2024-01-01T00:00:00")
+                        .param("end", "2024-01-31T23:59:59")
+                        .param("cursor", "nao-e-um-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Cursor de paginação inválido."));
+    }
+
+    @Test
+    public void testTransactionStreamWritesNdjson() throws Exception {
+        Account account = criarContaComTransacoes(3, LocalDateTime.of(2024, 1, 10, 10, 0));
+
+        MvcResult resultado = mockMvc.perform(get("/api/accounts/{accountId}/transactions/stream", account.getId())
+                        .param("start", "2024-01-01T00:00:00")
+                        .param("end", "2024-01-31T23:59:59"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals("DEPOSITO", objectMapper.readTree(linhas[0]).get("tipo").asText());
+    }
+
+    @Test
+    public void testTransactionStreamAccountNotFound() throws Exception {
+        mockMvc.perform(get("/api/accounts/{accountId}/transactions/stream", 999L)
+                        .param("start", "2024-01-01T00:00:00")
+                        .param("end", "2024-01-31T23:59:59"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Conta não encontrada: 999"));
+    }
+
+    @Test
+    public void testBatchImportReturnsPerItemResults() throws Exception {
+        Account contaA = criarContaComTransacoes(0, LocalDateTime.now());
+        Account contaB = new Account();
+        contaB.setAgencia("1234");
+        contaB.setNumeroConta("00000002");
+        contaB.setSaldo(BigDecimal.valueOf(300));
+        contaB.setBloqueada(false);
+        contaB.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        contaB.setCliente(client);
+        accountRepository.save(contaB);
+
+        TransactionBatchDTO lote = new TransactionBatchDTO(List.of(
+                new TransactionBatchItemDTO(contaB.getId(), TransactionType.SAQUE, BigDecimal.valueOf(50)),
+                new TransactionBatchItemDTO(contaA.getId(), TransactionType.DEPOSITO, BigDecimal.valueOf(100)),
+                new TransactionBatchItemDTO(999L, TransactionType.DEPOSITO, BigDecimal.TEN),
+                new TransactionBatchItemDTO(contaA.getId(), TransactionType.SAQUE, BigDecimal.valueOf(1000)),
+                new TransactionBatchItemDTO(contaA.getId(), TransactionType.DEPOSITO, BigDecimal.ZERO)));
+
+        mockMvc.perform(post("/api/accounts/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aplicadas").value(2))
+                .andExpect(jsonPath("$.recusadas").value(3))
+                .andExpect(jsonPath("$.resultados[0].indice").value(0))
+                .andExpect(jsonPath("$.resultados[0].sucesso").value(true))
+                .andExpect(jsonPath("$.resultados[0].saldo").value(250))
+                .andExpect(jsonPath("$.resultados[1].saldo").value(600))
+                .andExpect(jsonPath("$.resultados[2].sucesso").value(false))
+                .andExpect(jsonPath("$.resultados[2].erro").value("Conta não encontrada: 999"))
+                .andExpect(jsonPath("$.resultados[3].erro").value("Saldo insuficiente!"))
+                .andExpect(jsonPath("$.resultados[4].erro").value("O valor do depósito deve ser maior que zero."));
+
+        assertEquals(0, BigDecimal.valueOf(600).compareTo(accountRepository.findById(contaA.getId()).get().getSaldo()));
+        assertEquals(0, BigDecimal.valueOf(250).compareTo(accountRepository.findById(contaB.getId()).get().getSaldo()));
+    }
+
+    @Test
+    public void testBatchImportRejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post("/api/accounts/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransactionBatchDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
 }
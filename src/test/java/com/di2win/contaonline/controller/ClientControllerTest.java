@@ -1,6 +1,8 @@
 package com.di2win.contaonline.controller;
 
+import com.di2win.contaonline.dto.ClientAccountSummaryDTO;
 import com.di2win.contaonline.dto.ClientCreationDTO;
+import com.di2win.contaonline.dto.ClientPortfolioDTO;
 import com.di2win.contaonline.dto.ClientResponseDTO;
 import com.di2win.contaonline.entity.Client;
 import com.di2win.contaonline.exception.client.ClientNotFoundException;
@@ -15,7 +17,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -64,6 +68,52 @@ public class ClientControllerTest {
         verify(clientService).createClient(Mockito.any(ClientCreationDTO.class));
     }
 
+    @Test
+    void testCreateClientAcceptsMaskedCpf() throws Exception {
+        Client client = new Client();
+        client.setCpf("06915290435");
+        client.setNome("Pedro Mend");
+        client.setDataNascimento(LocalDate.of(1988, 6, 20));
+
+        when(clientService.createClient(Mockito.any(ClientCreationDTO.class))).thenReturn(client);
+
+        mockMvc.perform(post("/api/clients")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"cpf\": \"069.152.904-35\", \"nome\": \"Pedro Mend\", \"dataNascimento\": \"1988-06-20\" }"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.cpf").value("06915290435"));
+    }
+
+    @Test
+    void testGetClientReturnsAccountsWithTotals() throws Exception {
+        ClientAccountSummaryDTO conta = new ClientAccountSummaryDTO(10L, "00000019", "1234", BigDecimal.valueOf(150),
+                false, BigDecimal.valueOf(1000), BigDecimal.valueOf(200), BigDecimal.valueOf(50));
+        ClientPortfolioDTO portfolio = new ClientPortfolioDTO();
+        portfolio.setId(1L);
+        portfolio.setCpf("06915290435");
+        portfolio.setNome("Pedro Mend");
+        portfolio.setDataNascimento(LocalDate.of(1988, 6, 20));
+        portfolio.setContas(List.of(conta));
+
+        when(clientService.getPortfolio(1L)).thenReturn(portfolio);
+
+        mockMvc.perform(get("/api/clients/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Pedro Mend"))
+                .andExpect(jsonPath("$.contas[0].numeroConta").value("00000019"))
+                .andExpect(jsonPath("$.contas[0].saldo").value(150))
+                .andExpect(jsonPath("$.contas[0].depositosUltimos30Dias").value(200))
+                .andExpect(jsonPath("$.contas[0].saquesUltimos30Dias").value(50));
+    }
+
+    @Test
+    void testGetClientAccountsThrowsClientNotFoundException() throws Exception {
+        when(clientService.getAccounts(1L)).thenThrow(new ClientNotFoundException("Cliente não encontrado"));
+
+        mockMvc.perform(get("/api/clients/{id}/accounts", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Cliente não encontrado"));
+    }
 
     @Test
     void testDeleteClientSuccess() throws Exception {
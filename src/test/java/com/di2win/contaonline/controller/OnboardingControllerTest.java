@@ -0,0 +1,173 @@
+package com.di2win.contaonline.controller;
+
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"contaonline.onboarding.tamanho-lote=2", "contaonline.onboarding.tamanho-maximo=2KB"})
+@AutoConfigureMockMvc
+public class OnboardingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Existente");
+        client.setCpf(cpfValido(1));
+        client.setDataNascimento(LocalDate.of(1980, 1, 1));
+        clientRepository.save(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testCsvOnboardingOpensAccountsAndReportsErrorsPerLine() throws Exception {
+        String csv = String.join("\n",
+                "cpf,nome,dataNascimento",
+                cpfValido(2) + ",Ana Souza,1990-03-10",
+                cpfValido(3) + ",\"Silva, Bruno\",1985-07-21",
+                cpfValido(2) + ",Ana Repetida,1990-03-10",
+                cpfValido(1) + ",Cliente Existente,1980-01-01",
+                "12345678900,CPF Invalido,1990-01-01",
+                cpfValido(4) + ",Data Ruim,31/12/1990",
+                cpfValido(5) + ",Carla Lima,2000-12-31");
+
+        JsonNode job = aguardarConclusao(iniciar(csv, "text/csv"));
+
+        assertEquals(7, job.get("totalLinhas").asInt());
+        assertEquals(7, job.get("linhasProcessadas").asInt());
+        assertEquals(3, job.get("contasAbertas").asInt());
+        assertEquals(4, job.get("linhasComErro").asInt());
+        assertEquals("CPF repetido no arquivo (linha 2).", erroDaLinha(job, 4));
+        assertEquals("CPF já cadastrado: " + cpfValido(1), erroDaLinha(job, 5));
+        assertEquals("O segundo dígito verificador do CPF é inválido.", erroDaLinha(job, 6));
+        assertEquals("Data de nascimento inválida: 31/12/1990", erroDaLinha(job, 7));
+
+        assertEquals(4, clientRepository.count());
+        assertEquals(3, accountRepository.count());
+        Client bruno = clientRepository.findByCpf(cpfValido(3)).orElseThrow();
+        assertEquals("Silva, Bruno", bruno.getNome());
+        assertTrue(accountRepository.findByCliente(bruno).isPresent());
+    }
+
+    @Test
+    void testNdjsonOnboarding() throws Exception {
+        String ndjson = String.join("\n",
+                "{\"cpf\": \"" + cpfValido(6) + "\", \"nome\": \"Diego Alves\", \"dataNascimento\": \"1995-05-05\"}",
+                "{\"cpf\": \"" + cpfValido(7) + "\", \"nome\": \"\", \"dataNascimento\": \"1995-05-05\"}",
+                "nao e json");
+
+        JsonNode job = aguardarConclusao(iniciar(ndjson, "application/x-ndjson"));
+
+        assertEquals(1, job.get("contasAbertas").asInt());
+        assertEquals("O nome não pode ser nulo ou vazio.", erroDaLinha(job, 2));
+        assertEquals("Linha JSON inválida.", erroDaLinha(job, 3));
+    }
+
+    @Test
+    void testFileAboveMaximumSizeIsRejected() throws Exception {
+        String csv = "cpf,nome,dataNascimento\n" + (cpfValido(8) + ",Nome Comprido,1990-01-01\n").repeat(100);
+
+        mockMvc.perform(post("/api/onboarding")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(content().string("O arquivo excede o tamanho máximo de 2 KB."));
+    }
+
+    @Test
+    void testUnknownJob() throws Exception {
+        mockMvc.perform(get("/api/onboarding/{jobId}", "inexistente"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Job de abertura não encontrado: inexistente"));
+    }
+
+    private String iniciar(String conteudo, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/onboarding")
+                        .contentType(contentType)
+                        .content(conteudo))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8)).get("id").asText();
+    }
+
+    private JsonNode aguardarConclusao(String jobId) throws Exception {
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            MvcResult result = mockMvc.perform(get("/api/onboarding/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode job = objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+            if (job.get("concluidoEm") != null && !job.get("concluidoEm").isNull()) {
+                assertEquals("CONCLUIDO", job.get("status").asText());
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Job de abertura não terminou: " + jobId);
+    }
+
+    private String erroDaLinha(JsonNode job, int linha) {
+        for (JsonNode erro : job.get("erros")) {
+            if (erro.get("linha").asInt() == linha) {
+                return erro.get("motivo").asText();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * CPF válido a partir de uma base de 9 dígitos.
+     */
+    static String cpfValido(long base) {
+        String digitos = String.format("%09d", base * 7919 % 1_000_000_000L);
+        for (int verificador = 0; verificador < 2; verificador++) {
+            int soma = 0;
+            for (int i = 0; i < digitos.length(); i++) {
+                soma += (digitos.charAt(i) - '0') * (digitos.length() + 1 - i);
+            }
+            int digito = 11 - (soma % 11);
+            digitos += digito >= 10 ? 0 : digito;
+        }
+        return digitos;
+    }
+}
@@ -0,0 +1,129 @@
+package com.di2win.contaonline.entity;
+
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EntityIdentityTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityIdentityTest.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testHashCodeAndToStringDoNotWalkTheGraph() {
+        Client client = new Client();
+        client.setId(1L);
+        client.setNome("Cliente Grafo");
+        Account account = novaConta(client);
+        account.setId(10L);
+        client.getContas().add(account);
+        for (long i = 0; i < 10_000; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(i);
+            transaction.setConta(account);
+            account.getTransactions().add(transaction);
+        }
+
+        assertEquals(Long.valueOf(10L).hashCode(), account.hashCode());
+        assertEquals(Long.valueOf(1L).hashCode(), client.hashCode());
+        assertFalse(account.toString().contains("Transaction"));
+        assertFalse(client.toString().contains("Account"));
+        assertFalse(account.getTransactions().get(0).toString().contains("Account"));
+    }
+
+    @Test
+    void testEqualityUsesOnlyTheId() {
+        Account primeira = novaConta(null);
+        Account segunda = novaConta(null);
+        assertNotEquals(primeira, segunda);
+        assertEquals(primeira, primeira);
+
+        primeira.setId(5L);
+        segunda.setId(5L);
+        segunda.setSaldo(BigDecimal.ONE);
+        assertEquals(primeira, segunda);
+        assertEquals(primeira.hashCode(), segunda.hashCode());
+    }
+
+    @Test
+    void testSetsAndLogsDoNotInitializeLazyAssociations() {
+        Client client = new Client();
+        client.setNome("Cliente Proxy");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+        Account account = novaConta(client);
+        accountRepository.save(account);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Account carregada = accountRepository.findById(account.getId()).orElseThrow();
+            Client cliente = carregada.getCliente();
+
+            Set<Object> entidades = new HashSet<>();
+            entidades.add(carregada);
+            entidades.add(cliente);
+            log.info("Entidades: {}", carregada);
+
+            assertEquals(2, entidades.size());
+            assertTrue(entidades.contains(account));
+            assertFalse(Hibernate.isInitialized(cliente));
+            assertFalse(Hibernate.isInitialized(carregada.getTransactions()));
+        });
+        // só a conta; cliente e transações seguem sem carregar
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    private Account novaConta(Client client) {
+        Account account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000601");
+        account.setSaldo(BigDecimal.valueOf(100));
+        account.setBloqueada(false);
+        account.setCliente(client);
+        return account;
+    }
+}
@@ -0,0 +1,172 @@
+package com.di2win.contaonline.metrics;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.service.AccountMovement;
+import com.di2win.contaonline.service.AccountService;
+import com.di2win.contaonline.service.LedgerService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class OperationMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Metricas");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000401");
+        account.setSaldo(BigDecimal.valueOf(100));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+    }
+
+    @Test
+    void testOperationsAreTimedByOutcome() throws Exception {
+        long depositos = contagem("deposit", "sucesso");
+        long saquesSemSaldo = contagem("withdraw", "InsufficientBalanceException");
+
+        mockMvc.perform(put("/api/accounts/{accountId}/deposit", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10.00}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/accounts/{accountId}/withdraw", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 500.00}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(depositos + 1, contagem("deposit", "sucesso"));
+        assertEquals(saquesSemSaldo + 1, contagem("withdraw", "InsufficientBalanceException"));
+    }
+
+    @Test
+    void testGroupedMovementsAreTimedByOutcomeOfEachMovement() {
+        long depositos = contagem("deposit", "sucesso");
+        long saquesSemSaldo = contagem("withdraw", "InsufficientBalanceException");
+        long grupos = contagem("applyMovements", "sucesso");
+
+        accountService.applyMovements(account.getId(), List.of(
+                AccountMovement.deposito(BigDecimal.TEN),
+                AccountMovement.saque(new BigDecimal("500.00"))));
+
+        assertEquals(depositos + 1, contagem("deposit", "sucesso"));
+        assertEquals(saquesSemSaldo + 1, contagem("withdraw", "InsufficientBalanceException"));
+        assertEquals(grupos, contagem("applyMovements", "sucesso"));
+    }
+
+    @Test
+    void testLedgerMovementsAreTimedByOutcome() {
+        Timer timer = meterRegistry.find(OperationMetricsAspect.TIMER)
+                .tags("servico", "LedgerService", "operacao", "withdraw", "resultado", "InsufficientBalanceException")
+                .timer();
+        long antes = timer == null ? 0 : timer.count();
+
+        assertThrows(InsufficientBalanceException.class,
+                () -> ledgerService.withdraw(account.getId(), new BigDecimal("500.00")));
+
+        assertEquals(antes + 1, meterRegistry.get(OperationMetricsAspect.TIMER)
+                .tags("servico", "LedgerService", "operacao", "withdraw", "resultado", "InsufficientBalanceException")
+                .timer().count());
+    }
+
+    @Test
+    void testHibernateWorkIsRecordedPerRequest() throws Exception {
+        String uri = "/api/accounts/{accountId}/transactions";
+        DistributionSummary consultas = meterRegistry.find(HibernateRequestMetricsInterceptor.RESUMO)
+                .tags("tipo", "consultas", "uri", uri).summary();
+        long antes = consultas == null ? 0 : consultas.count();
+
+        LocalDateTime agora = LocalDateTime.now();
+        mockMvc.perform(get(uri, account.getId())
+                        .param("start", agora.minusDays(1).toString())
+                        .param("end", agora.toString()))
+                .andExpect(status().isOk());
+
+        consultas = meterRegistry.get(HibernateRequestMetricsInterceptor.RESUMO)
+                .tags("tipo", "consultas", "method", "GET", "uri", uri).summary();
+        assertEquals(antes + 1, consultas.count());
+        assertTrue(consultas.max() >= 1, "a consulta do extrato deveria ser contada");
+    }
+
+    @Test
+    void testPrometheusEndpointExposesApplicationPoolAndHibernateMetrics() throws Exception {
+        mockMvc.perform(put("/api/accounts/{accountId}/deposit", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1.00}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("contaonline_operacoes_seconds_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+
+    private long contagem(String operacao, String resultado) {
+        Timer timer = meterRegistry.find(OperationMetricsAspect.TIMER)
+                .tags("servico", "AccountService", "operacao", operacao, "resultado", resultado)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,88 @@
+package com.di2win.contaonline.metrics;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * {@link RequestStatistics} estende uma classe interna do Hibernate; estes testes falham se uma
+ * atualização deixar de usar a fábrica configurada ou de chamar os métodos sobrescritos.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class RequestStatisticsTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Estatisticas");
+        client.setCpf("39053344705");
+        client.setDataNascimento(LocalDate.of(1975, 7, 7));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000701");
+        account.setSaldo(BigDecimal.TEN);
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+    }
+
+    @Test
+    void testHibernateUsesRequestStatistics() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        assertInstanceOf(RequestStatistics.class, sessionFactory.getStatistics());
+    }
+
+    @Test
+    void testOverriddenHooksAreCalled() {
+        RequestStatistics.iniciar();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            // uma consulta para a conta, uma entidade carregada e uma coleção buscada ao percorrê-la
+            Account carregada = entityManager.find(Account.class, account.getId());
+            carregada.getTransactions().size();
+        } finally {
+            entityManager.close();
+        }
+        long[] contagens = RequestStatistics.encerrar();
+
+        assertNotNull(contagens);
+        assertEquals(2, contagens[RequestStatistics.CONSULTAS]);
+        assertEquals(1, contagens[RequestStatistics.ENTIDADES]);
+        assertEquals(1, contagens[RequestStatistics.COLECOES]);
+    }
+}
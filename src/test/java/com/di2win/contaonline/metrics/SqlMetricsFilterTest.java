@@ -0,0 +1,131 @@
+package com.di2win.contaonline.metrics;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.exception.sql.SqlBudgetExceededException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "contaonline.sql.lenta.limite=0ms")
+@AutoConfigureMockMvc
+@Import(SqlMetricsFilterTest.OrcamentoController.class)
+@ExtendWith(OutputCaptureExtension.class)
+public class SqlMetricsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Orcamento");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000501");
+        account.setSaldo(BigDecimal.valueOf(100));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+    }
+
+    @Test
+    void testStatementsAndRowsAreRecordedPerRequest() throws Exception {
+        String uri = "/api/accounts/{accountId}/balance";
+        long antes = contagem("contaonline.sql.requisicao.comandos", uri);
+
+        mockMvc.perform(get(uri, account.getId()))
+                .andExpect(status().isOk());
+
+        assertEquals(antes + 1, contagem("contaonline.sql.requisicao.comandos", uri));
+        DistributionSummary linhas = meterRegistry.get("contaonline.sql.requisicao.linhas")
+                .tags("method", "GET", "uri", uri).summary();
+        assertTrue(linhas.max() >= 1, "a leitura do saldo deveria contar a linha da conta");
+    }
+
+    @Test
+    void testRequestAboveBudgetFails() {
+        SqlBudgetExceededException erro = assertThrows(SqlBudgetExceededException.class,
+                () -> mockMvc.perform(get("/api/teste/orcamento")));
+
+        assertTrue(erro.getMessage().contains("executou 2 comandos SQL, acima do orçamento de 1"));
+    }
+
+    @Test
+    void testSlowQueriesAreLoggedWithParameters(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/api/accounts/{accountId}/balance", account.getId()))
+                .andExpect(status().isOk());
+
+        // o log é escrito por outra thread
+        String parametros = "Params:[(" + account.getId() + ")]";
+        long limite = System.currentTimeMillis() + 5000;
+        while (!output.getOut().contains(parametros) && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+        assertTrue(output.getOut().contains("Consulta lenta"));
+        assertTrue(output.getOut().contains(parametros));
+    }
+
+    private long contagem(String nome, String uri) {
+        DistributionSummary summary = meterRegistry.find(nome).tags("method", "GET", "uri", uri).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    @RestController
+    static class OrcamentoController {
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @GetMapping("/api/teste/orcamento")
+        @SqlBudget(1)
+        public Integer duasConsultas() {
+            jdbcTemplate.queryForObject("select 1", Integer.class);
+            return jdbcTemplate.queryForObject("select 2", Integer.class);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.di2win.contaonline.outbox;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.OutboxEvent;
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.OutboxEventRepository;
+import com.di2win.contaonline.service.AccountMovement;
+import com.di2win.contaonline.service.AccountService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "contaonline.outbox.enabled=true",
+        "contaonline.outbox.intervalo=3600000",
+        "contaonline.outbox.tamanho-lote=20",
+        "contaonline.outbox.memoria.enabled=true",
+        "contaonline.outbox.arquivo.enabled=true",
+        "contaonline.outbox.arquivo.caminho=target/outbox-teste.ndjson",
+        "contaonline.outbox.kafka.enabled=true"
+})
+public class OutboxRelayTest {
+
+    private static final Path ARQUIVO = Path.of("target/outbox-teste.ndjson");
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink inMemoryOutboxSink;
+
+    @Autowired
+    private FileOutboxSink fileOutboxSink;
+
+    @Autowired
+    private KafkaStub kafkaStub;
+
+    @Autowired
+    private DestinoInstavel destinoInstavel;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        outboxRelay.publicar();
+        outboxEventRepository.deleteAll();
+        inMemoryOutboxSink.getFila().clear();
+        kafkaStub.mensagens.clear();
+        destinoInstavel.falhar.set(false);
+        fileOutboxSink.fechar();
+        Files.deleteIfExists(ARQUIVO);
+
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+        client = new Client();
+        client.setNome("Cliente Outbox");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testEventsAreWrittenWithTheMovementAndDeliveredToEverySink() throws IOException {
+        Account account = novaConta("00000701");
+        accountService.deposit(account.getId(), new BigDecimal("100.00"));
+        accountService.withdraw(account.getId(), new BigDecimal("30.00"));
+        assertThrows(InsufficientBalanceException.class,
+                () -> accountService.withdraw(account.getId(), new BigDecimal("5000.00")));
+        accountService.applyMovements(account.getId(), List.of(
+                AccountMovement.deposito(new BigDecimal("5.00")), AccountMovement.saque(new BigDecimal("1.00"))));
+
+        // o saque recusado não deixa evento
+        assertEquals(4, outboxEventRepository.count());
+        assertEquals(4, outboxRelay.publicar());
+
+        List<OutboxEvent> eventos = new ArrayList<>(inMemoryOutboxSink.getFila());
+        assertEquals(List.of("1100.00", "1070.00", "1075.00", "1074.00"),
+                eventos.stream().map(evento -> evento.getSaldo().toPlainString()).toList());
+        assertTrue(eventos.stream().allMatch(evento -> evento.getContaId().equals(account.getId())));
+        assertEquals(4, Files.readAllLines(ARQUIVO).size());
+        assertTrue(Files.readAllLines(ARQUIVO).get(1).contains("\"tipo\":\"SAQUE\""));
+        assertEquals(4, kafkaStub.mensagens.size());
+        assertTrue(kafkaStub.mensagens.stream().allMatch(mensagem -> mensagem.startsWith(account.getId() + "=")));
+
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(0, meterRegistry.get(OutboxRelay.ATRASO).timeGauge().value());
+        assertTrue(meterRegistry.get(OutboxRelay.ENTREGA).timer().count() >= 4);
+    }
+
+    @Test
+    void testFailedBatchStaysInTheOutboxAndIsDeliveredAgain() {
+        Account account = novaConta("00000702");
+        accountService.deposit(account.getId(), BigDecimal.TEN);
+        destinoInstavel.falhar.set(true);
+
+        assertThrows(IllegalStateException.class, () -> outboxRelay.publicar());
+        assertEquals(1, outboxEventRepository.count());
+        assertTrue(meterRegistry.get("contaonline.outbox.falhas").tag("destino", "instavel").counter().count() >= 1);
+
+        destinoInstavel.falhar.set(false);
+        assertEquals(1, outboxRelay.publicar());
+        assertEquals(0, outboxEventRepository.count());
+        // pelo menos uma vez: destinos que já tinham recebido o lote o recebem de novo
+        assertTrue(inMemoryOutboxSink.getFila().size() >= 1);
+        assertTrue(kafkaStub.mensagens.size() >= 1);
+    }
+
+    @Test
+    void testEventsOfEachAccountKeepCommitOrder() throws Exception {
+        List<Account> contas = List.of(novaConta("00000703"), novaConta("00000704"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Long contaId = contas.get(i % 2).getId();
+            tarefas.add(executor.submit(() -> accountService.deposit(contaId, BigDecimal.ONE)));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(100, outboxRelay.publicar());
+
+        // só depósitos: na ordem de commit, o saldo de cada conta cresce a cada evento
+        for (Account conta : contas) {
+            List<BigDecimal> saldos = inMemoryOutboxSink.getFila().stream()
+                    .filter(evento -> evento.getContaId().equals(conta.getId()))
+                    .map(OutboxEvent::getSaldo)
+                    .toList();
+            assertEquals(50, saldos.size());
+            for (int i = 0; i < saldos.size(); i++) {
+                assertEquals(0, BigDecimal.valueOf(1001 + i).compareTo(saldos.get(i)));
+            }
+        }
+    }
+
+    @Test
+    void testEventsWrittenOutsideHibernateKeepCommitOrder() {
+        Account account = novaConta("00000705");
+        accountService.deposit(account.getId(), new BigDecimal("1.00"));
+        // como o módulo reativo: id pelo default da coluna
+        jdbcTemplate.update("insert into eventos_saida (conta_id, transacao_id, tipo, valor, saldo, data_hora, criado_em) " +
+                "values (?, 0, 'DEPOSITO', 2.00, 1003.00, current_timestamp, current_timestamp)", account.getId());
+        accountService.deposit(account.getId(), new BigDecimal("3.00"));
+
+        outboxRelay.publicar();
+
+        List<BigDecimal> valores = new ArrayList<>();
+        inMemoryOutboxSink.getFila().forEach(evento -> valores.add(evento.getValor()));
+        assertEquals(List.of(new BigDecimal("1.00"), new BigDecimal("2.00"), new BigDecimal("3.00")), valores);
+    }
+
+    private Account novaConta(String numero) {
+        Account account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta(numero);
+        account.setSaldo(new BigDecimal("1000.00"));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(new BigDecimal("1000.00"));
+        account.setCliente(client);
+        return accountRepository.save(account);
+    }
+
+    @TestConfiguration
+    static class Destinos {
+
+        @Bean
+        KafkaStub kafkaStub() {
+            return new KafkaStub();
+        }
+
+        @Bean
+        DestinoInstavel destinoInstavel() {
+            return new DestinoInstavel();
+        }
+    }
+
+    static class KafkaStub implements KafkaEnvio {
+
+        final List<String> mensagens = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<?> send(String topico, String chave, String valor) {
+            mensagens.add(chave + "=" + valor);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    static class DestinoInstavel implements OutboxSink {
+
+        final AtomicBoolean falhar = new AtomicBoolean();
+
+        @Override
+        public String getNome() {
+            return "instavel";
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void publicar(List<OutboxEvent> eventos) {
+            if (falhar.get()) {
+                throw new IllegalStateException("Destino indisponível");
+            }
+        }
+    }
+}
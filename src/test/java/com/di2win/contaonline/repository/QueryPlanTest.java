@@ -0,0 +1,133 @@
+package com.di2win.contaonline.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante, via EXPLAIN do H2, que as consultas mais frequentes usam os índices declarados nas
+ * migrações em vez de varrer a tabela inteira.
+ *
+ * O H2 escolhe entre esses índices e os que ele cria para as FKs pela seletividade das colunas,
+ * que depende dos dados deixados pelos outros testes no banco compartilhado. Para o plano não
+ * variar, o teste grava um histórico com o perfil de produção (muitas transações por conta, em
+ * datas distintas) e roda ANALYZE antes do EXPLAIN.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+public class QueryPlanTest {
+
+    private static final long CLIENTE_ID = 990_001L;
+    private static final long CONTA_ID = 990_001L;
+    private static final int TRANSACOES = 2_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        jdbcTemplate.update("insert into clientes (id, cpf, nome, data_nascimento) values (?, '39053344705', 'Cliente Plano', date '1980-01-01')",
+                CLIENTE_ID);
+        jdbcTemplate.update("insert into contas (id, numero_conta, agencia, saldo, limite_diario_saque, bloqueada, cliente_id) " +
+                "values (?, '99000001', '1234', 0, 1000, false, ?)", CONTA_ID, CLIENTE_ID);
+
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> transacoes = new ArrayList<>(TRANSACOES);
+        for (int i = 0; i < TRANSACOES; i++) {
+            transacoes.add(new Object[]{CONTA_ID, 10, i % 2 == 0 ? "DEPOSITO" : "SAQUE",
+                    Timestamp.valueOf(inicio.plusMinutes(17L * i))});
+        }
+        jdbcTemplate.batchUpdate("insert into transacoes (conta_id, valor, tipo, data_hora) values (?, ?, ?, ?)", transacoes);
+        jdbcTemplate.execute("analyze table transacoes");
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from transacoes where conta_id = ?", CONTA_ID);
+        jdbcTemplate.update("delete from contas where id = ?", CONTA_ID);
+        jdbcTemplate.update("delete from clientes where id = ?", CLIENTE_ID);
+    }
+
+    private String explain(String sql, Object... parametros) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, parametros).toLowerCase();
+    }
+
+    private void assertSemVarredura(String plano) {
+        assertFalse(plano.contains("tablescan"), () -> "Consulta faz varredura completa: " + plano);
+    }
+
+    private void assertUsaIndice(String plano, String indice) {
+        assertSemVarredura(plano);
+        assertTrue(plano.contains(indice), () -> "Consulta não usa o índice " + indice + ": " + plano);
+    }
+
+    @Test
+    void testStatementQueryUsesAccountDateIndex() {
+        String plano = explain("select t.id, t.valor, t.tipo, t.data_hora from transacoes t " +
+                        "where t.conta_id = ? and t.data_hora between ? and ?",
+                CONTA_ID, "2024-01-01 00:00:00", "2024-01-31 23:59:59");
+
+        assertUsaIndice(plano, "idx_transacoes_conta_data_hora");
+    }
+
+    @Test
+    void testStatementPageQueryUsesAccountDateIndex() {
+        String plano = explain("select t.id, t.valor, t.tipo, t.data_hora from transacoes t " +
+                        "where t.conta_id = ? and t.data_hora between ? and ? " +
+                        "and (t.data_hora > ? or (t.data_hora = ? and t.id > ?)) " +
+                        "order by t.data_hora, t.id fetch first 101 rows only",
+                CONTA_ID, "2024-01-01 00:00:00", "2024-01-31 23:59:59", "2024-01-15 00:00:00", "2024-01-15 00:00:00", 10L);
+
+        assertUsaIndice(plano, "idx_transacoes_conta_data_hora");
+    }
+
+    @Test
+    void testDailyWithdrawalSumUsesAccountTypeDateIndex() {
+        String plano = explain("select sum(t.valor) from transacoes t " +
+                        "where t.conta_id = ? and t.tipo = ? and t.data_hora between ? and ?",
+                CONTA_ID, "SAQUE", "2024-01-01 00:00:00", "2024-01-01 23:59:59");
+
+        assertUsaIndice(plano, "idx_transacoes_conta_tipo_data_hora");
+    }
+
+    @Test
+    void testHistoryExistenceCheckUsesIndex() {
+        String plano = explain("select t.id from transacoes t where t.conta_id = ? fetch first 1 rows only", CONTA_ID);
+
+        // o H2 pode preferir o índice criado para a FK; basta não varrer a tabela
+        assertSemVarredura(plano);
+    }
+
+    @Test
+    void testAccountsByClientUsesClientIndex() {
+        String plano = explain("select c.id from contas c where c.cliente_id = ?", CLIENTE_ID);
+
+        // no H2 o índice da FK atende; no PostgreSQL quem atende é idx_contas_cliente
+        assertSemVarredura(plano);
+    }
+
+    @Test
+    void testDailyWithdrawalLookupUsesUniqueIndex() {
+        String plano = explain("select s.id, s.total from saques_diarios s where s.conta_id = ? and s.data = ?",
+                CONTA_ID, "2024-01-01");
+
+        assertUsaIndice(plano, "uk_saques_diarios_conta_data");
+    }
+}
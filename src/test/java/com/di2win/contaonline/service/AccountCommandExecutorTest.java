@@ -0,0 +1,171 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.exception.account.AccountNotFoundException;
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"contaonline.lanes.enabled=true", "contaonline.lanes.quantidade=2"})
+@AutoConfigureMockMvc
+public class AccountCommandExecutorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountCommandExecutor accountCommandExecutor;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        client = new Client();
+        client.setNome("Cliente Lanes");
+        client.setCpf("11144477735");
+        client.setDataNascimento(LocalDate.of(1970, 3, 3));
+        clientRepository.save(client);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    private Account criarConta(String numeroConta, BigDecimal saldo) {
+        Account account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta(numeroConta);
+        account.setSaldo(saldo);
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000000));
+        account.setCliente(client);
+        return accountRepository.save(account);
+    }
+
+    @Test
+    void testGroupedMovementsAreAllApplied() {
+        Account primeira = criarConta("00000101", BigDecimal.ZERO);
+        Account segunda = criarConta("00000102", BigDecimal.ZERO);
+
+        List<CompletableFuture<AccountResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(accountCommandExecutor.submit(primeira.getId(), AccountMovement.deposito(BigDecimal.TEN)));
+            futures.add(accountCommandExecutor.submit(segunda.getId(), AccountMovement.deposito(BigDecimal.ONE)));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(0, BigDecimal.valueOf(5000).compareTo(accountRepository.findById(primeira.getId()).orElseThrow().getSaldo()));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(accountRepository.findById(segunda.getId()).orElseThrow().getSaldo()));
+        assertEquals(500, transactionRepository.findByContaId(primeira.getId()).size());
+        assertEquals(500, transactionRepository.findByContaId(segunda.getId()).size());
+    }
+
+    @Test
+    void testEachCallerReceivesItsOwnResult() throws Exception {
+        Account account = criarConta("00000103", BigDecimal.valueOf(100));
+
+        CompletableFuture<AccountResponseDTO> saque = accountCommandExecutor.submit(account.getId(), AccountMovement.saque(BigDecimal.valueOf(60)));
+        CompletableFuture<AccountResponseDTO> saqueSemSaldo = accountCommandExecutor.submit(account.getId(), AccountMovement.saque(BigDecimal.valueOf(60)));
+        CompletableFuture<AccountResponseDTO> deposito = accountCommandExecutor.submit(account.getId(), AccountMovement.deposito(BigDecimal.valueOf(5)));
+
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(saque.get().getSaldo()));
+        ExecutionException erro = assertThrows(ExecutionException.class, saqueSemSaldo::get);
+        assertInstanceOf(InsufficientBalanceException.class, erro.getCause());
+        assertEquals(0, BigDecimal.valueOf(45).compareTo(deposito.get().getSaldo()));
+
+        assertEquals(0, BigDecimal.valueOf(45).compareTo(accountRepository.findById(account.getId()).orElseThrow().getSaldo()));
+        assertEquals(2, transactionRepository.findByContaId(account.getId()).size());
+    }
+
+    @Test
+    void testFailureOfOneAccountDoesNotFailTheOthersInTheGroup() {
+        Account valida = criarConta("00000104", BigDecimal.ZERO);
+        // mesma lane (2 lanes: paridade do id), para que as duas contas caiam no mesmo grupo
+        Account estourada = criarConta("00000105", BigDecimal.ZERO);
+        if ((estourada.getId() - valida.getId()) % 2 != 0) {
+            estourada = criarConta("00000106", BigDecimal.ZERO);
+        }
+
+        List<CompletableFuture<AccountResponseDTO>> depositos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            depositos.add(accountCommandExecutor.submit(valida.getId(), AccountMovement.deposito(BigDecimal.ONE)));
+        }
+        // o saldo resultante não cabe em numeric(38, 2): a gravação dessa conta falha no banco
+        CompletableFuture<AccountResponseDTO> falha = accountCommandExecutor.submit(estourada.getId(),
+                AccountMovement.deposito(new BigDecimal("1e40")));
+        for (int i = 0; i < 200; i++) {
+            depositos.add(accountCommandExecutor.submit(valida.getId(), AccountMovement.deposito(BigDecimal.ONE)));
+        }
+
+        depositos.forEach(CompletableFuture::join);
+        assertThrows(ExecutionException.class, falha::get);
+        assertEquals(0, BigDecimal.valueOf(400).compareTo(accountRepository.findById(valida.getId()).orElseThrow().getSaldo()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(accountRepository.findById(estourada.getId()).orElseThrow().getSaldo()));
+    }
+
+    @Test
+    void testBlockingApiRethrowsBusinessExceptions() {
+        assertTrue(accountCommandExecutor.isEnabled());
+        assertThrows(AccountNotFoundException.class, () -> accountCommandExecutor.deposit(999999L, BigDecimal.ONE));
+    }
+
+    @Test
+    void testLaneWritesAreNotMeasuredAsRequestSql() throws Exception {
+        Account account = criarConta("00000107", BigDecimal.ZERO);
+
+        mockMvc.perform(put("/api/accounts/{accountId}/deposit", account.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10.00}"))
+                .andExpect(status().isOk());
+
+        // o SQL rodou na lane: registrar zero comandos esconderia o custo real do endpoint
+        assertNull(meterRegistry.find("contaonline.sql.requisicao.comandos")
+                .tags("method", "PUT", "uri", "/api/accounts/{accountId}/deposit").summary());
+    }
+}
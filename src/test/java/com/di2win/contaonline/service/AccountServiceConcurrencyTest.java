@@ -0,0 +1,215 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.DailyWithdrawal;
+import com.di2win.contaonline.exception.account.AccountBlockedException;
+import com.di2win.contaonline.exception.account.WithdrawalLimitExceededException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.DailyWithdrawalRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@SpringBootTest
+public class AccountServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES_POR_THREAD = 200;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyWithdrawalRepository dailyWithdrawalRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        dailyWithdrawalRepository.deleteAll();
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Concorrencia");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000099");
+        account.setSaldo(BigDecimal.valueOf(10000));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000000));
+        account.setCliente(client);
+        accountRepository.save(account);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dailyWithdrawalRepository.deleteAll();
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentDepositsAndWithdrawalsDoNotLoseUpdates() throws Exception {
+        BigDecimal deposito = BigDecimal.valueOf(7);
+        BigDecimal saque = BigDecimal.valueOf(3);
+        Long accountId = account.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < OPERACOES_POR_THREAD; i++) {
+                    if (i % 2 == 0) {
+                        accountService.deposit(accountId, deposito);
+                    } else {
+                        accountService.withdraw(accountId, saque);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        int movimentosPorTipo = THREADS * OPERACOES_POR_THREAD / 2;
+        BigDecimal saldoEsperado = BigDecimal.valueOf(10000)
+                .add(deposito.multiply(BigDecimal.valueOf(movimentosPorTipo)))
+                .subtract(saque.multiply(BigDecimal.valueOf(movimentosPorTipo)));
+
+        Account atualizada = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, saldoEsperado.compareTo(atualizada.getSaldo()));
+        assertEquals(THREADS * OPERACOES_POR_THREAD, transactionRepository.findByContaId(accountId).size());
+    }
+
+    @Test
+    void testConcurrentBlockDoesNotOverwriteBalance() throws Exception {
+        Long accountId = account.getId();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        Future<?> depositos = executor.submit(() -> {
+            largada.await();
+            for (int i = 0; i < 100; i++) {
+                try {
+                    accountService.deposit(accountId, BigDecimal.ONE);
+                } catch (AccountBlockedException ignored) {
+                    // depósitos recusados enquanto a conta está bloqueada não alteram o saldo
+                }
+            }
+            return null;
+        });
+        Future<?> bloqueios = executor.submit(() -> {
+            largada.await();
+            for (int i = 0; i < 100; i++) {
+                Account atual = accountRepository.findById(accountId).orElseThrow();
+                if (!atual.isBloqueada()) {
+                    accountService.blockAccount(accountId);
+                    accountService.unblockAccount(accountId);
+                }
+            }
+            return null;
+        });
+
+        largada.countDown();
+        bloqueios.get();
+        depositos.get();
+        executor.shutdown();
+
+        long depositosAceitos = transactionRepository.findByContaId(accountId).size();
+        Account atualizada = accountRepository.findById(accountId).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(10000 + depositosAceitos).compareTo(atualizada.getSaldo()));
+    }
+
+    @Test
+    void testConcurrentWithdrawalsRespectDailyLimit() throws Exception {
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        accountRepository.save(account);
+        Long accountId = account.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    accountService.withdraw(accountId, BigDecimal.valueOf(100));
+                    return true;
+                } catch (WithdrawalLimitExceededException e) {
+                    return false;
+                }
+            }));
+        }
+
+        largada.countDown();
+        int aceitos = 0;
+        for (Future<Boolean> future : futures) {
+            if (future.get()) {
+                aceitos++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(10, aceitos);
+        DailyWithdrawal acumulado = dailyWithdrawalRepository.findByContaIdAndData(accountId, LocalDate.now()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(acumulado.getTotal()));
+        assertEquals(0, BigDecimal.valueOf(9000).compareTo(accountRepository.findById(accountId).orElseThrow().getSaldo()));
+    }
+
+    @Test
+    void testDailyLimitRollsOverAtMidnight() {
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        accountRepository.save(account);
+
+        DailyWithdrawal ontem = new DailyWithdrawal();
+        ontem.setContaId(account.getId());
+        ontem.setData(LocalDate.now().minusDays(1));
+        ontem.setTotal(BigDecimal.valueOf(1000));
+        dailyWithdrawalRepository.save(ontem);
+
+        accountService.withdraw(account.getId(), BigDecimal.valueOf(1000));
+
+        assertThrows(WithdrawalLimitExceededException.class,
+                () -> accountService.withdraw(account.getId(), BigDecimal.ONE));
+    }
+}
@@ -0,0 +1,267 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.AccountResponseDTO;
+import com.di2win.contaonline.dto.TransactionBatchItemDTO;
+import com.di2win.contaonline.dto.TransactionBatchResponseDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.Transaction;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import com.di2win.contaonline.util.AccountMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.di2win.contaonline.service.AccountServiceQueryCountTest$SequenceCallCounter"
+})
+public class AccountServiceQueryCountTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Estatisticas");
+        client.setCpf("39053344705");
+        client.setDataNascimento(LocalDate.of(1992, 2, 2));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000201");
+        account.setSaldo(BigDecimal.valueOf(1000));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SequenceCallCounter.chamadas.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testDepositStatementCount() {
+        Account atualizada = accountService.deposit(account.getId(), BigDecimal.TEN);
+
+        // SELECT ... FOR UPDATE (conta + cliente), INSERT da transação, UPDATE do saldo
+        assertEquals(3, comandosExecutados());
+        assertEquals(0, BigDecimal.valueOf(1010).compareTo(atualizada.getSaldo()));
+        assertEquals("Cliente Estatisticas", atualizada.getCliente().getNome());
+    }
+
+    @Test
+    void testWithdrawStatementCount() {
+        Account atualizada = accountService.withdraw(account.getId(), BigDecimal.TEN);
+
+        // primeiro saque do dia: SELECT ... FOR UPDATE, leitura do acumulado, SUM inicial dos saques,
+        // INSERT da transação, INSERT do acumulado, UPDATE do saldo
+        assertEquals(6, comandosExecutados());
+        assertEquals(0, BigDecimal.valueOf(990).compareTo(atualizada.getSaldo()));
+
+        statistics.clear();
+        SequenceCallCounter.chamadas.set(0);
+        accountService.withdraw(account.getId(), BigDecimal.TEN);
+
+        // demais saques: SELECT ... FOR UPDATE, leitura do acumulado, INSERT da transação,
+        // UPDATE do saldo e UPDATE do acumulado
+        assertEquals(5, comandosExecutados());
+    }
+
+    @Test
+    void testWriteCostDoesNotDependOnHistorySize() {
+        criarHistorico(10);
+        statistics.clear();
+        SequenceCallCounter.chamadas.set(0);
+        accountService.deposit(account.getId(), BigDecimal.ONE);
+        long comHistoricoCurto = comandosExecutados();
+
+        criarHistorico(2000);
+        statistics.clear();
+        SequenceCallCounter.chamadas.set(0);
+        accountService.deposit(account.getId(), BigDecimal.ONE);
+
+        assertEquals(comHistoricoCurto, comandosExecutados());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testBatchImportUsesJdbcBatching() {
+        List<TransactionBatchItemDTO> itens = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            itens.add(new TransactionBatchItemDTO(account.getId(), TransactionType.DEPOSITO, BigDecimal.ONE));
+        }
+
+        TransactionBatchResponseDTO resposta = transactionBatchService.importar(itens);
+
+        assertEquals(120, resposta.getAplicadas());
+        assertEquals(0, BigDecimal.valueOf(1120).compareTo(resposta.getResultados().get(119).getSaldo()));
+        // SELECT ... FOR UPDATE, o INSERT das transações (preparado uma vez e executado em lotes de 50)
+        // e o UPDATE do saldo
+        assertEquals(3, comandosExecutados());
+        assertEquals(120, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void testDeleteChecksHistoryWithoutLoadingIt() {
+        criarHistorico(500);
+        statistics.clear();
+
+        assertThrows(IllegalStateException.class, () -> accountService.deleteAccount(account.getId()));
+        assertEquals(0, statistics.getCollectionLoadCount());
+        // apenas a conta e o cliente; nenhuma transação do histórico é carregada
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testStatementReadsDoNotDependOnHistorySize() {
+        LocalDateTime inicio = LocalDateTime.now().minusDays(2);
+        LocalDateTime fim = LocalDateTime.now();
+
+        criarHistorico(10);
+        statistics.clear();
+        assertEquals(10, accountService.getTransactionsByPeriod(account.getId(), inicio, fim).size());
+        accountService.getTransactionPage(account.getId(), inicio, fim, null, 5);
+        long comHistoricoCurto = statistics.getPrepareStatementCount();
+
+        criarHistorico(990);
+        statistics.clear();
+        assertEquals(1000, accountService.getTransactionsByPeriod(account.getId(), inicio, fim).size());
+        accountService.getTransactionPage(account.getId(), inicio, fim, null, 5);
+
+        // existência da conta + projeção, em cada uma das duas leituras
+        assertEquals(4, comHistoricoCurto);
+        assertEquals(comHistoricoCurto, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testTransactionsDoNotLoadTheirAccount() {
+        criarHistorico(50);
+        LocalDateTime inicio = LocalDateTime.now().minusDays(2);
+        LocalDateTime fim = LocalDateTime.now();
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Account referencia = accountRepository.getReferenceById(account.getId());
+            List<Transaction> transacoes = transactionRepository.findByContaAndDataHoraBetween(referencia, inicio, fim);
+
+            assertEquals(50, transacoes.size());
+            assertFalse(Hibernate.isInitialized(transacoes.get(0).getConta()));
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(50, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testAccountGraphFetchesClientInTheSameStatement() {
+        AccountResponseDTO resposta = transactionTemplate.execute(status ->
+                AccountMapper.mapToAccountResponseDTO(accountRepository.findByIdForUpdate(account.getId()).orElseThrow()));
+
+        assertEquals("Cliente Estatisticas", resposta.getCliente().getNome());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        Account semGrafo = accountRepository.findById(account.getId()).orElseThrow();
+        assertFalse(Hibernate.isInitialized(semGrafo.getCliente()));
+        assertTrue(Hibernate.isInitialized(
+                accountRepository.findWithClienteById(account.getId()).orElseThrow().getCliente()));
+    }
+
+    /**
+     * Comandos preparados na operação, sem contar as reservas de blocos de ids na sequência de
+     * transações: com allocationSize 50 elas aparecem só quando o bloco corrente acaba.
+     */
+    private long comandosExecutados() {
+        return statistics.getPrepareStatementCount() - SequenceCallCounter.chamadas.get();
+    }
+
+    private void criarHistorico(int quantidade) {
+        LocalDateTime ontem = LocalDateTime.now().minusDays(1);
+        List<Object[]> linhas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new Object[]{BigDecimal.ONE, ontem, TransactionType.DEPOSITO.name(), account.getId()});
+        }
+        jdbcTemplate.batchUpdate("insert into transacoes (valor, data_hora, tipo, conta_id) values (?, ?, ?, ?)", linhas);
+    }
+
+    public static class SequenceCallCounter implements StatementInspector {
+
+        static final AtomicInteger chamadas = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains("transacoes_seq")) {
+                chamadas.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.di2win.contaonline.service;
 
+import com.di2win.contaonline.cache.BalanceCache;
+import com.di2win.contaonline.dto.AccountBalanceDTO;
 import com.di2win.contaonline.dto.AccountCreationDTO;
 import com.di2win.contaonline.dto.TransactionDTO;
 import com.di2win.contaonline.entity.Account;
 import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.DailyWithdrawal;
 import com.di2win.contaonline.entity.Transaction;
 import com.di2win.contaonline.entity.TransactionType;
 import com.di2win.contaonline.exception.account.AccountBlockedException;
 import com.di2win.contaonline.exception.account.AccountNotFoundException;
 import com.di2win.contaonline.exception.account.InsufficientBalanceException;
 import com.di2win.contaonline.exception.account.WithdrawalLimitExceededException;
+import com.di2win.contaonline.outbox.OutboxService;
 import com.di2win.contaonline.repository.AccountRepository;
 import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.DailyWithdrawalRepository;
 import com.di2win.contaonline.repository.TransactionRepository;
 import com.di2win.contaonline.util.AccountNumberGenerator;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,9 +26,11 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,6 +51,18 @@ public class AccountServiceTest {
     @Mock
     private AccountNumberGenerator accountNumberGenerator;
 
+    @Mock
+    private DailyWithdrawalRepository dailyWithdrawalRepository;
+
+    @Mock
+    private BalanceCache balanceCache;
+
+    @Mock
+    private LedgerService ledgerService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -67,7 +86,7 @@ public class AccountServiceTest {
 
         when(clientRepository.findByCpf(client.getCpf())).thenReturn(Optional.of(client));
         when(accountRepository.save(any(Account.class))).thenReturn(newAccount);
-        when(accountNumberGenerator.generateUniqueAccountNumber(any(AccountRepository.class))).thenReturn("00000001");
+        when(accountNumberGenerator.nextAccountNumber()).thenReturn("00000001");
 
         AccountCreationDTO accountCreationDTO = new AccountCreationDTO();
         accountCreationDTO.setCpf(client.getCpf());
@@ -110,7 +129,7 @@ public class AccountServiceTest {
         client.setNome("Test Client");
         account.setCliente(client);
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(i -> i.getArguments()[0]);
 
         accountService.deposit(accountId, depositAmount);
@@ -145,7 +164,7 @@ public class AccountServiceTest {
         transaction.setValor(withdrawAmount);
         transaction.setTipo(TransactionType.SAQUE);
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
         when(transactionRepository.save(any(Transaction.class))).thenReturn(transaction);
 
         accountService.withdraw(accountId, withdrawAmount);
@@ -153,6 +172,8 @@ public class AccountServiceTest {
         assertEquals(initialBalance.subtract(withdrawAmount), account.getSaldo());
         verify(transactionRepository).save(any(Transaction.class));
         verify(accountRepository).save(account);
+        verify(balanceCache).invalidateAfterCommit(accountId);
+        verify(dailyWithdrawalRepository).save(argThat(saques -> withdrawAmount.compareTo(saques.getTotal()) == 0));
     }
 
 
@@ -166,13 +187,15 @@ public class AccountServiceTest {
         account.setSaldo(new BigDecimal("1000"));
         account.setLimiteDiarioSaque(new BigDecimal("1000"));
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
 
-        Transaction previousWithdrawal = new Transaction();
-        previousWithdrawal.setTipo(TransactionType.SAQUE);
-        previousWithdrawal.setValor(new BigDecimal("600"));
-        when(transactionRepository.findByContaAndDataHoraBetween(any(), any(), any()))
-                .thenReturn(List.of(previousWithdrawal));
+        DailyWithdrawal saquesDoDia = new DailyWithdrawal();
+        saquesDoDia.setId(1L);
+        saquesDoDia.setContaId(accountId);
+        saquesDoDia.setData(LocalDate.now());
+        saquesDoDia.setTotal(new BigDecimal("600"));
+        when(dailyWithdrawalRepository.findByContaIdAndData(eq(accountId), any(LocalDate.class)))
+                .thenReturn(Optional.of(saquesDoDia));
 
         assertThrows(WithdrawalLimitExceededException.class, () -> {
             accountService.withdraw(accountId, amount);
@@ -190,7 +213,7 @@ public class AccountServiceTest {
         blockedAccount.setId(accountId);
         blockedAccount.setBloqueada(true);
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(blockedAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(blockedAccount));
 
         AccountBlockedException exception = assertThrows(AccountBlockedException.class,
                 () -> accountService.deposit(accountId, amount));
@@ -207,7 +230,7 @@ public class AccountServiceTest {
         blockedAccount.setId(accountId);
         blockedAccount.setBloqueada(true);
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(blockedAccount));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(blockedAccount));
 
         AccountBlockedException exception = assertThrows(AccountBlockedException.class,
                 () -> accountService.withdraw(accountId, amount));
@@ -224,7 +247,7 @@ public class AccountServiceTest {
         account.setId(accountId);
         account.setSaldo(BigDecimal.valueOf(50));
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
 
         InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
                 () -> accountService.withdraw(accountId, amount));
@@ -242,7 +265,7 @@ public class AccountServiceTest {
         account.setSaldo(BigDecimal.valueOf(5000));
         account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
 
         WithdrawalLimitExceededException exception = assertThrows(WithdrawalLimitExceededException.class,
                 () -> accountService.withdraw(accountId, amount));
@@ -258,18 +281,13 @@ public class AccountServiceTest {
         account.setSaldo(BigDecimal.valueOf(5000));
         account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-
-        Transaction previousTransaction1 = new Transaction();
-        previousTransaction1.setTipo(TransactionType.SAQUE);
-        previousTransaction1.setValor(BigDecimal.valueOf(600));
+        when(accountRepository.findByIdForUpdate(accountId)).thenReturn(Optional.of(account));
 
-        Transaction previousTransaction2 = new Transaction();
-        previousTransaction2.setTipo(TransactionType.SAQUE);
-        previousTransaction2.setValor(BigDecimal.valueOf(400));
-
-        when(transactionRepository.findByContaAndDataHoraBetween(any(Account.class), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(List.of(previousTransaction1, previousTransaction2));
+        when(dailyWithdrawalRepository.findByContaIdAndData(eq(accountId), any(LocalDate.class)))
+                .thenReturn(Optional.empty());
+        when(transactionRepository.sumValorByContaIdAndTipoAndDataHoraBetween(
+                eq(accountId), eq(TransactionType.SAQUE), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(BigDecimal.valueOf(1000));
 
         BigDecimal newWithdrawalAmount = BigDecimal.valueOf(200);
 
@@ -286,29 +304,39 @@ public class AccountServiceTest {
         LocalDateTime start = LocalDateTime.now().minusDays(5);
         LocalDateTime end = LocalDateTime.now();
 
-        Account account = new Account();
-        account.setId(accountId);
-
-        Transaction transaction1 = new Transaction();
-        transaction1.setConta(account);
-        transaction1.setValor(BigDecimal.valueOf(100));
-        transaction1.setTipo(TransactionType.DEPOSITO);
-        transaction1.setDataHora(start.plusDays(1));
-
-        Transaction transaction2 = new Transaction();
-        transaction2.setConta(account);
-        transaction2.setValor(BigDecimal.valueOf(200));
-        transaction2.setTipo(TransactionType.SAQUE);
-        transaction2.setDataHora(end.minusDays(1));
+        TransactionDTO transaction1 = new TransactionDTO(1L, BigDecimal.valueOf(100), TransactionType.DEPOSITO, start.plusDays(1));
+        TransactionDTO transaction2 = new TransactionDTO(2L, BigDecimal.valueOf(200), TransactionType.SAQUE, end.minusDays(1));
 
-        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-        when(transactionRepository.findByContaAndDataHoraBetween(account, start, end))
+        when(accountRepository.existsById(accountId)).thenReturn(true);
+        when(transactionRepository.findByContaIdAndPeriod(accountId, start, end))
                 .thenReturn(List.of(transaction1, transaction2));
 
         List<TransactionDTO> transactions = accountService.getTransactionsByPeriod(accountId, start, end);
 
         assertEquals(2, transactions.size());
-        verify(transactionRepository, times(1)).findByContaAndDataHoraBetween(account, start, end);
+        assertEquals("SAQUE", transactions.get(1).getTipo());
+        verify(transactionRepository, times(1)).findByContaIdAndPeriod(accountId, start, end);
+        verify(transactionRepository, never()).findByContaAndDataHoraBetween(any(), any(), any());
+    }
+
+    @Test
+    void testGetTransactionsByPeriodAccountNotFound() {
+        when(accountRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(AccountNotFoundException.class, () ->
+                accountService.getTransactionsByPeriod(1L, LocalDateTime.now().minusDays(1), LocalDateTime.now()));
+        verify(transactionRepository, never()).findByContaIdAndPeriod(any(), any(), any());
+    }
+
+    @Test
+    void testGetBalance() {
+        when(balanceCache.get(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, AccountBalanceDTO>>getArgument(1).apply(1L));
+        when(accountRepository.findBalanceById(1L))
+                .thenReturn(Optional.of(new AccountBalanceDTO(1L, BigDecimal.valueOf(500), false)));
+
+        assertEquals(BigDecimal.valueOf(500), accountService.getBalance(1L).getSaldo());
+        verify(accountRepository, never()).findById(any());
     }
 
 }
@@ -0,0 +1,169 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.DailyBalanceDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.DailyBalance;
+import com.di2win.contaonline.entity.Transaction;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.exception.account.AccountNotFoundException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.DailyBalanceRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "contaonline.snapshots.margem=0s")
+public class BalanceSnapshotServiceTest {
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyBalanceRepository dailyBalanceRepository;
+
+    private Account account;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Saldos Diarios");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000301");
+        account.setSaldo(BigDecimal.ZERO);
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+
+        hoje = LocalDate.now();
+        inserir(TransactionType.DEPOSITO, "100.00", hoje.minusDays(3).atTime(9, 0));
+        inserir(TransactionType.DEPOSITO, "50.00", hoje.minusDays(3).atTime(18, 0));
+        inserir(TransactionType.SAQUE, "30.00", hoje.minusDays(2).atTime(12, 0));
+    }
+
+    @Test
+    void testRebuildConsolidatesOneRowPerDayWithMovements() {
+        balanceSnapshotService.reconstruir();
+
+        List<DailyBalance> saldos = dailyBalanceRepository.findByContaIdAndDataBetweenOrderByData(
+                account.getId(), hoje.minusDays(10), hoje);
+        assertEquals(2, saldos.size());
+
+        assertEquals(hoje.minusDays(3), saldos.get(0).getData());
+        assertEquals(0, new BigDecimal("150.00").compareTo(saldos.get(0).getSaldoFinal()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(saldos.get(0).getTotalDepositos()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(saldos.get(0).getTotalSaques()));
+
+        assertEquals(hoje.minusDays(2), saldos.get(1).getData());
+        assertEquals(0, new BigDecimal("120.00").compareTo(saldos.get(1).getSaldoFinal()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(saldos.get(1).getTotalSaques()));
+    }
+
+    @Test
+    void testUpdateOnlyAddsNewTransactions() throws InterruptedException {
+        balanceSnapshotService.reconstruir();
+
+        inserir(TransactionType.DEPOSITO, "10.00", LocalDateTime.now());
+        // a consolidação vai até o segundo cheio anterior ao relógio
+        Thread.sleep(1100);
+        balanceSnapshotService.atualizar();
+        balanceSnapshotService.atualizar();
+
+        List<DailyBalance> saldos = dailyBalanceRepository.findByContaIdAndDataBetweenOrderByData(
+                account.getId(), hoje, hoje);
+        assertEquals(1, saldos.size());
+        assertEquals(0, new BigDecimal("130.00").compareTo(saldos.get(0).getSaldoFinal()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(saldos.get(0).getTotalDepositos()));
+    }
+
+    @Test
+    void testBalanceAtInstant() {
+        balanceSnapshotService.reconstruir();
+
+        assertSaldo("0", balanceSnapshotService.getBalanceAt(account.getId(), hoje.minusDays(3).atTime(8, 59)));
+        assertSaldo("100.00", balanceSnapshotService.getBalanceAt(account.getId(), hoje.minusDays(3).atTime(9, 0)));
+        assertSaldo("150.00", balanceSnapshotService.getBalanceAt(account.getId(), hoje.minusDays(2).atTime(11, 0)));
+        assertSaldo("120.00", balanceSnapshotService.getBalanceAt(account.getId(), hoje.minusDays(1).atTime(12, 0)));
+    }
+
+    @Test
+    void testBalanceAtInstantIncludesTransactionsNotYetConsolidated() {
+        balanceSnapshotService.reconstruir();
+        inserir(TransactionType.SAQUE, "20.00", LocalDateTime.now());
+
+        assertSaldo("100.00", balanceSnapshotService.getBalanceAt(account.getId(), LocalDateTime.now().plusSeconds(1)));
+    }
+
+    @Test
+    void testDailyBalancesFillDaysWithoutMovements() {
+        balanceSnapshotService.reconstruir();
+        inserir(TransactionType.DEPOSITO, "5.00", LocalDateTime.now());
+
+        List<DailyBalanceDTO> dias = balanceSnapshotService.getDailyBalances(account.getId(), hoje.minusDays(4), hoje.plusDays(3));
+
+        assertEquals(5, dias.size());
+        assertSaldo("0", dias.get(0).getSaldoFinal());
+        assertSaldo("150.00", dias.get(1).getSaldoFinal());
+        assertSaldo("120.00", dias.get(2).getSaldoFinal());
+        assertSaldo("120.00", dias.get(3).getSaldoFinal());
+        assertSaldo("0", dias.get(3).getTotalDepositos());
+        assertEquals(hoje, dias.get(4).getData());
+        assertSaldo("125.00", dias.get(4).getSaldoFinal());
+        assertSaldo("5.00", dias.get(4).getTotalDepositos());
+    }
+
+    @Test
+    void testDailyBalancesRejectInvalidPeriods() {
+        assertThrows(IllegalArgumentException.class,
+                () -> balanceSnapshotService.getDailyBalances(account.getId(), hoje, hoje.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> balanceSnapshotService.getDailyBalances(account.getId(), hoje.minusDays(400), hoje));
+        assertThrows(AccountNotFoundException.class,
+                () -> balanceSnapshotService.getDailyBalances(999999L, hoje, hoje));
+    }
+
+    private void inserir(TransactionType tipo, String valor, LocalDateTime dataHora) {
+        Transaction transaction = new Transaction();
+        transaction.setConta(account);
+        transaction.setTipo(tipo);
+        transaction.setValor(new BigDecimal(valor));
+        transaction.setDataHora(dataHora);
+        transactionRepository.save(transaction);
+    }
+
+    private static void assertSaldo(String esperado, BigDecimal atual) {
+        assertEquals(0, new BigDecimal(esperado).compareTo(atual), "esperado " + esperado + ", obtido " + atual);
+    }
+}
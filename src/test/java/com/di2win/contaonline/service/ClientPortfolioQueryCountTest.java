@@ -0,0 +1,143 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.ClientAccountSummaryDTO;
+import com.di2win.contaonline.dto.ClientPortfolioDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ClientPortfolioQueryCountTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testPortfolioCostDoesNotDependOnNumberOfAccounts() {
+        Client pessoaFisica = criarCliente("Cliente Uma Conta", "52998224725", 1);
+        Client empresa = criarCliente("Cliente Corporativo", "39053344705", 50);
+        criarHistorico(pessoaFisica, 20);
+        criarHistorico(empresa, 20);
+
+        statistics.clear();
+        ClientPortfolioDTO umaConta = clientService.getPortfolio(pessoaFisica.getId());
+        long comandosUmaConta = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ClientPortfolioDTO cinquentaContas = clientService.getPortfolio(empresa.getId());
+
+        assertEquals(1, umaConta.getContas().size());
+        assertEquals(50, cinquentaContas.getContas().size());
+        // cliente + contas com os totais agregados
+        assertEquals(2, comandosUmaConta);
+        assertEquals(comandosUmaConta, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void testAccountsCarryOnlyLast30DaysTotals() {
+        Client client = criarCliente("Cliente Totais", "52998224725", 2);
+        Long contaId = accountRepository.findAll().get(0).getId();
+        LocalDateTime agora = LocalDateTime.now();
+        inserirTransacao(contaId, TransactionType.DEPOSITO, 100, agora.minusDays(1));
+        inserirTransacao(contaId, TransactionType.DEPOSITO, 50, agora.minusDays(29));
+        inserirTransacao(contaId, TransactionType.SAQUE, 30, agora.minusDays(2));
+        inserirTransacao(contaId, TransactionType.DEPOSITO, 999, agora.minusDays(31));
+
+        List<ClientAccountSummaryDTO> contas = clientService.getAccounts(client.getId());
+
+        assertEquals(2, contas.size());
+        ClientAccountSummaryDTO movimentada = contas.get(0);
+        assertEquals(contaId, movimentada.getId());
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(movimentada.getDepositosUltimos30Dias()));
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(movimentada.getSaquesUltimos30Dias()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(contas.get(1).getDepositosUltimos30Dias()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(contas.get(1).getSaquesUltimos30Dias()));
+    }
+
+    private Client criarCliente(String nome, String cpf, int quantidadeContas) {
+        Client client = new Client();
+        client.setNome(nome);
+        client.setCpf(cpf);
+        client.setDataNascimento(LocalDate.of(1980, 1, 1));
+        clientRepository.save(client);
+
+        List<Account> contas = new ArrayList<>();
+        for (int i = 0; i < quantidadeContas; i++) {
+            Account account = new Account();
+            account.setAgencia("1234");
+            account.setNumeroConta(cpf.substring(0, 4) + String.format("%04d", i));
+            account.setSaldo(BigDecimal.valueOf(100));
+            account.setBloqueada(false);
+            account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+            account.setCliente(client);
+            contas.add(account);
+        }
+        accountRepository.saveAll(contas);
+        return client;
+    }
+
+    /**
+     * Um depósito por dia em cada conta do cliente, nos últimos {@code dias} dias.
+     */
+    private void criarHistorico(Client client, int dias) {
+        for (int i = 0; i < dias; i++) {
+            jdbcTemplate.update("insert into transacoes (valor, data_hora, tipo, conta_id) " +
+                    "select 1, ?, 'DEPOSITO', id from contas where cliente_id = ?",
+                    LocalDateTime.now().minusDays(i), client.getId());
+        }
+    }
+
+    private void inserirTransacao(Long contaId, TransactionType tipo, int valor, LocalDateTime dataHora) {
+        jdbcTemplate.update("insert into transacoes (valor, data_hora, tipo, conta_id) values (?, ?, ?, ?)",
+                BigDecimal.valueOf(valor), dataHora, tipo.name(), contaId);
+    }
+}
@@ -0,0 +1,263 @@
+package com.di2win.contaonline.service;
+
+import com.di2win.contaonline.dto.LedgerVerificationDTO;
+import com.di2win.contaonline.dto.TransactionBatchItemDTO;
+import com.di2win.contaonline.dto.TransactionBatchResponseDTO;
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.entity.LedgerEntry;
+import com.di2win.contaonline.entity.TransactionType;
+import com.di2win.contaonline.exception.account.InsufficientBalanceException;
+import com.di2win.contaonline.exception.account.WithdrawalLimitExceededException;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import com.di2win.contaonline.repository.LedgerCheckpointRepository;
+import com.di2win.contaonline.repository.LedgerEntryRepository;
+import com.di2win.contaonline.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+// Quatro threads lançando sem pausa na mesma conta perdem mais corridas que o tráfego real; as
+// tentativas extras evitam que um perdedor esgote o limite padrão em máquinas com poucos núcleos.
+@SpringBootTest(properties = {"contaonline.ledger.enabled=true", "contaonline.ledger.tentativas=40"})
+public class LedgerServiceTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerVerificationService ledgerVerificationService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+
+        Client client = new Client();
+        client.setNome("Cliente Livro Razao");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1985, 5, 5));
+        clientRepository.save(client);
+
+        account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta("00000401");
+        account.setSaldo(new BigDecimal("100.00"));
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(new BigDecimal("500.00"));
+        account.setCliente(client);
+        accountRepository.save(account);
+    }
+
+    @Test
+    void testMovementsAppendEntriesWithoutUpdatingAccount() {
+        assertSaldo("150.00", ledgerService.deposit(account.getId(), new BigDecimal("50.00")).getSaldo());
+        assertSaldo("120.00", ledgerService.withdraw(account.getId(), new BigDecimal("30.00")).getSaldo());
+
+        List<LedgerEntry> lancamentos = ledgerEntryRepository.findByContaIdAndSequenciaGreaterThanOrderBySequencia(account.getId(), 0L);
+        assertEquals(2, lancamentos.size());
+        assertEquals(1L, lancamentos.get(0).getSequencia());
+        assertSaldo("150.00", lancamentos.get(0).getSaldo());
+        assertEquals(2L, lancamentos.get(1).getSequencia());
+        assertSaldo("120.00", lancamentos.get(1).getSaldo());
+        assertSaldo("30.00", lancamentos.get(1).getSaquesDia());
+        assertEquals(LedgerEntry.CONTRAPARTIDA_CAIXA, lancamentos.get(1).getContrapartida());
+
+        assertEquals(2, transactionRepository.findByContaId(account.getId()).size());
+        assertSaldo("100.00", accountRepository.findById(account.getId()).orElseThrow().getSaldo());
+        assertSaldo("120.00", accountService.getBalance(account.getId()).getSaldo());
+        assertSaldo("120.00", clientService.getAccounts(account.getCliente().getId()).get(0).getSaldo());
+    }
+
+    @Test
+    void testBusinessRulesUseRunningTotals() {
+        ledgerService.withdraw(account.getId(), new BigDecimal("100.00"));
+        assertThrows(InsufficientBalanceException.class,
+                () -> ledgerService.withdraw(account.getId(), new BigDecimal("0.01")));
+
+        ledgerService.deposit(account.getId(), new BigDecimal("1000.00"));
+        ledgerService.withdraw(account.getId(), new BigDecimal("400.00"));
+        assertThrows(WithdrawalLimitExceededException.class,
+                () -> ledgerService.withdraw(account.getId(), new BigDecimal("0.01")));
+
+        assertSaldo("600.00", accountService.getBalance(account.getId()).getSaldo());
+    }
+
+    @Test
+    void testConcurrentDepositsKeepSequenceContiguous() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futuros.add(executor.submit(() -> ledgerService.deposit(account.getId(), BigDecimal.ONE)));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        List<LedgerEntry> lancamentos = ledgerEntryRepository.findByContaIdAndSequenciaGreaterThanOrderBySequencia(account.getId(), 0L);
+        assertEquals(100, lancamentos.size());
+        assertEquals(100L, lancamentos.get(99).getSequencia());
+        assertSaldo("200.00", lancamentos.get(99).getSaldo());
+        assertEquals(0, ledgerVerificationService.verificar().getDivergencias().size());
+    }
+
+    @Test
+    void testConcurrentImportsAndDepositsRetryConflicts() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<TransactionBatchResponseDTO>> importacoes = new ArrayList<>();
+        try {
+            List<Future<?>> depositos = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                importacoes.add(executor.submit(() -> transactionBatchService.importar(List.of(
+                        new TransactionBatchItemDTO(account.getId(), TransactionType.DEPOSITO, BigDecimal.ONE),
+                        new TransactionBatchItemDTO(account.getId(), TransactionType.DEPOSITO, BigDecimal.ONE)))));
+                depositos.add(executor.submit(() -> ledgerService.deposit(account.getId(), BigDecimal.ONE)));
+            }
+            for (Future<?> deposito : depositos) {
+                deposito.get();
+            }
+            for (Future<TransactionBatchResponseDTO> importacao : importacoes) {
+                assertEquals(2, importacao.get().getAplicadas());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        List<LedgerEntry> lancamentos = ledgerEntryRepository.findByContaIdAndSequenciaGreaterThanOrderBySequencia(account.getId(), 0L);
+        assertEquals(60, lancamentos.size());
+        assertSaldo("160.00", lancamentos.get(59).getSaldo());
+    }
+
+    @Test
+    void testMovementsMadeWithLedgerOffAreRecordedBeforeTheNextEntry() {
+        ledgerService.withdraw(account.getId(), new BigDecimal("60.00"));
+        ledgerVerificationService.verificar();
+
+        // modo desligado: o AccountService atualiza contas.saldo e saques_diarios
+        accountService.deposit(account.getId(), new BigDecimal("500.00"));
+        accountService.withdraw(account.getId(), new BigDecimal("400.00"));
+
+        assertTrue(ledgerService.findSaldo(account.getId()).isEmpty());
+        assertEquals(0, ledgerVerificationService.verificar().getDivergencias().size());
+        assertSaldo("140.00", accountRepository.findById(account.getId()).orElseThrow().getSaldo());
+
+        assertThrows(WithdrawalLimitExceededException.class,
+                () -> ledgerService.withdraw(account.getId(), new BigDecimal("50.00")));
+        assertSaldo("150.00", ledgerService.deposit(account.getId(), new BigDecimal("10.00")).getSaldo());
+
+        List<LedgerEntry> lancamentos = ledgerEntryRepository.findByContaIdAndSequenciaGreaterThanOrderBySequencia(account.getId(), 0L);
+        assertEquals(4, lancamentos.size());
+        assertSaldo("460.00", lancamentos.get(2).getSaquesDia());
+        assertSaldo("150.00", ledgerService.findSaldo(account.getId()).orElseThrow());
+        assertEquals(0, ledgerVerificationService.verificar().getDivergencias().size());
+        assertSaldo("150.00", accountRepository.findById(account.getId()).orElseThrow().getSaldo());
+    }
+
+    @Test
+    void testVerificationAdvancesCheckpointAndFlagsDrift() {
+        ledgerService.deposit(account.getId(), new BigDecimal("10.00"));
+        ledgerService.deposit(account.getId(), new BigDecimal("20.00"));
+
+        LedgerVerificationDTO relatorio = ledgerVerificationService.verificar();
+        assertEquals(0, relatorio.getDivergencias().size());
+        assertEquals(2, relatorio.getLancamentosVerificados());
+        assertEquals(2L, ledgerCheckpointRepository.findById(account.getId()).orElseThrow().getSequencia());
+        assertSaldo("130.00", accountRepository.findById(account.getId()).orElseThrow().getSaldo());
+
+        ledgerService.withdraw(account.getId(), new BigDecimal("5.00"));
+        jdbcTemplate.update("update lancamentos set saldo = 999 where conta_id = ? and sequencia = 3", account.getId());
+
+        relatorio = ledgerVerificationService.verificar();
+        assertEquals(1, relatorio.getDivergencias().size());
+        assertEquals(3L, relatorio.getDivergencias().get(0).getSequencia());
+        assertSaldo("125.00", relatorio.getDivergencias().get(0).getSaldoEsperado());
+        assertEquals(2L, ledgerCheckpointRepository.findById(account.getId()).orElseThrow().getSequencia());
+    }
+
+    @Test
+    void testVerificationFlagsCorruptedFirstEntry() {
+        ledgerService.deposit(account.getId(), new BigDecimal("10.00"));
+        ledgerService.deposit(account.getId(), new BigDecimal("20.00"));
+        assertEquals(0L, ledgerCheckpointRepository.findById(account.getId()).orElseThrow().getSequencia());
+        jdbcTemplate.update("update lancamentos set saldo = saldo + 50 where conta_id = ? and sequencia = 1", account.getId());
+
+        LedgerVerificationDTO relatorio = ledgerVerificationService.verificar();
+
+        assertEquals(1, relatorio.getDivergencias().size());
+        assertEquals(1L, relatorio.getDivergencias().get(0).getSequencia());
+        assertSaldo("110.00", relatorio.getDivergencias().get(0).getSaldoEsperado());
+        assertSaldo("100.00", accountRepository.findById(account.getId()).orElseThrow().getSaldo());
+    }
+
+    @Test
+    void testVerificationFlagsMissingEntry() {
+        ledgerService.deposit(account.getId(), new BigDecimal("10.00"));
+        ledgerService.deposit(account.getId(), new BigDecimal("20.00"));
+        ledgerService.deposit(account.getId(), new BigDecimal("30.00"));
+        jdbcTemplate.update("delete from lancamentos where conta_id = ? and sequencia = 2", account.getId());
+
+        LedgerVerificationDTO relatorio = ledgerVerificationService.verificar();
+
+        assertEquals(1, relatorio.getDivergencias().size());
+        assertEquals(2L, relatorio.getDivergencias().get(0).getSequencia());
+        assertNull(relatorio.getDivergencias().get(0).getSaldoRegistrado());
+    }
+
+    private static void assertSaldo(String esperado, BigDecimal atual) {
+        assertEquals(0, new BigDecimal(esperado).compareTo(atual), "esperado " + esperado + ", obtido " + atual);
+    }
+}
@@ -0,0 +1,111 @@
+package com.di2win.contaonline.util;
+
+import com.di2win.contaonline.entity.Account;
+import com.di2win.contaonline.entity.Client;
+import com.di2win.contaonline.repository.AccountRepository;
+import com.di2win.contaonline.repository.ClientRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class AccountNumberGeneratorTest {
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testCheckDigit() {
+        assertEquals("00000019", AccountNumberGenerator.formatar(1));
+        assertEquals("12345679", AccountNumberGenerator.formatar(1234567));
+        assertEquals("99999994", AccountNumberGenerator.formatar(9999999));
+    }
+
+    @Test
+    void testNumbersAreUniqueAndReservedInBlocks() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Set<String> numeros = new HashSet<>();
+        int quantidade = AccountNumberGenerator.TAMANHO_BLOCO * 5;
+        for (int i = 0; i < quantidade; i++) {
+            String numero = accountNumberGenerator.nextAccountNumber();
+            assertEquals(8, numero.length());
+            assertEquals(AccountNumberGenerator.formatar(Long.parseLong(numero.substring(0, 7))), numero);
+            numeros.add(numero);
+        }
+
+        assertEquals(quantidade, numeros.size());
+        // no máximo uma consulta de números existentes por bloco (6 se o primeiro já estava em uso)
+        assertTrue(statistics.getPrepareStatementCount() <= 6);
+    }
+
+    @Test
+    void testSkipsNumbersAlreadyInUse() {
+        long proximaBase = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'CONTAS_NUMERO_SEQ'", Long.class);
+        Client client = criarCliente();
+        criarConta(client, AccountNumberGenerator.formatar(proximaBase));
+        criarConta(client, AccountNumberGenerator.formatar(proximaBase + 1));
+
+        AccountNumberGenerator novaInstancia = beanFactory.createBean(AccountNumberGenerator.class);
+
+        assertEquals(AccountNumberGenerator.formatar(proximaBase + 2), novaInstancia.nextAccountNumber());
+    }
+
+    private Client criarCliente() {
+        Client client = new Client();
+        client.setNome("Cliente Legado");
+        client.setCpf("52998224725");
+        client.setDataNascimento(LocalDate.of(1975, 5, 5));
+        return clientRepository.save(client);
+    }
+
+    private void criarConta(Client client, String numeroConta) {
+        Account account = new Account();
+        account.setAgencia("1234");
+        account.setNumeroConta(numeroConta);
+        account.setSaldo(BigDecimal.ZERO);
+        account.setBloqueada(false);
+        account.setLimiteDiarioSaque(BigDecimal.valueOf(1000));
+        account.setCliente(client);
+        accountRepository.save(account);
+    }
+}
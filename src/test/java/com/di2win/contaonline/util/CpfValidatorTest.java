@@ -0,0 +1,51 @@
+package com.di2win.contaonline.util;
+
+import com.di2win.contaonline.exception.cpf.InvalidCpfFormatException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CpfValidatorTest {
+
+    @Test
+    void testCheckAcceptsMaskedAndUnmaskedForms() {
+        assertEquals(CpfValidator.Resultado.VALIDO, CpfValidator.check("06915290435"));
+        assertEquals(CpfValidator.Resultado.VALIDO, CpfValidator.check("069.152.904-35"));
+        assertEquals(CpfValidator.Resultado.VALIDO, CpfValidator.check(" 069.152.904-35 "));
+        assertEquals(CpfValidator.Resultado.VALIDO, CpfValidator.check(new StringBuilder("06915290435")));
+    }
+
+    @Test
+    void testCheckResultCodes() {
+        assertEquals(CpfValidator.Resultado.NULO_OU_VAZIO, CpfValidator.check(null));
+        assertEquals(CpfValidator.Resultado.NULO_OU_VAZIO, CpfValidator.check("   "));
+        assertEquals(CpfValidator.Resultado.TAMANHO_INVALIDO, CpfValidator.check("12345678"));
+        assertEquals(CpfValidator.Resultado.TAMANHO_INVALIDO, CpfValidator.check("069.152.904-3"));
+        assertEquals(CpfValidator.Resultado.CARACTERE_INVALIDO, CpfValidator.check("0691529043a"));
+        assertEquals(CpfValidator.Resultado.CARACTERE_INVALIDO, CpfValidator.check("069-152.904.35"));
+        assertEquals(CpfValidator.Resultado.DIGITOS_IGUAIS, CpfValidator.check("111.111.111-11"));
+        assertEquals(CpfValidator.Resultado.PRIMEIRO_DIGITO_INVALIDO, CpfValidator.check("06915290445"));
+        assertEquals(CpfValidator.Resultado.SEGUNDO_DIGITO_INVALIDO, CpfValidator.check("069.152.904-36"));
+    }
+
+    @Test
+    void testValidateThrowsWithResultMessage() {
+        InvalidCpfFormatException exception = assertThrows(InvalidCpfFormatException.class,
+                () -> CpfValidator.validate("069.152.904-36"));
+        assertEquals("O segundo dígito verificador do CPF é inválido.", exception.getMessage());
+    }
+
+    @Test
+    void testNormalize() {
+        String canonico = "06915290435";
+        assertSame(canonico, CpfValidator.normalize(canonico));
+        assertEquals(canonico, CpfValidator.normalize("069.152.904-35"));
+        assertEquals(canonico, CpfValidator.normalize(" 06915290435\n"));
+        assertNull(CpfValidator.normalize("069.152.904/35"));
+        assertNull(CpfValidator.normalize("1234"));
+        assertNull(CpfValidator.normalize(null));
+    }
+}